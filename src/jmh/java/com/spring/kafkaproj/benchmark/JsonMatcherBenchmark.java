@@ -0,0 +1,92 @@
+package com.spring.kafkaproj.benchmark;
+
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking one consumed record against a verification, the work a tailer does for
+ * every record and every pending match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMatcherBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int items;
+
+    @Param({"1", "4", "8"})
+    private int paths;
+
+    private byte[] record;
+    private JsonMatcher matching;
+    private JsonMatcher matchingTyped;
+    private JsonMatcher mismatching;
+    private JsonMatcher filtered;
+    private JsonKeyExtractor keyExtractor;
+
+    @Setup
+    public void setUp() {
+        record = Payloads.order("ORD-1", items);
+        Map<String, String> expected = Payloads.expectedValues("ORD-1", items, paths);
+        matching = JsonMatcher.of(expected, ValueComparator.EXACT_TEXT);
+        // The comparator the steps use: numbers and booleans compared as such
+        matchingTyped = JsonMatcher.of(expected, ValueComparator.TYPED);
+
+        // Most records a verification sees belong to another order and fail on the first path
+        Map<String, String> otherOrder = new LinkedHashMap<>(expected);
+        otherOrder.put("orderId", "ORD-2");
+        mismatching = JsonMatcher.of(otherOrder, ValueComparator.EXACT_TEXT);
+
+        // A filter path forces full JsonPath evaluation of the parsed document
+        Map<String, String> withFilter = new LinkedHashMap<>(expected);
+        withFilter.put("$.items[?(@.sku == 'SKU-1000')].quantity", "[1]");
+        filtered = JsonMatcher.of(withFilter, ValueComparator.EXACT_TEXT);
+
+        keyExtractor = JsonKeyExtractor.compile("orderId");
+    }
+
+    @Benchmark
+    public boolean matchDefinitePaths() {
+        return matching.matches(record);
+    }
+
+    @Benchmark
+    public boolean matchDefinitePathsTyped() {
+        return matchingTyped.matches(record);
+    }
+
+    @Benchmark
+    public boolean rejectOtherKey() {
+        return mismatching.matches(record);
+    }
+
+    @Benchmark
+    public boolean matchWithFilterPath() {
+        return filtered.matches(record);
+    }
+
+    @Benchmark
+    public String extractKey() {
+        return keyExtractor.extract(record);
+    }
+}
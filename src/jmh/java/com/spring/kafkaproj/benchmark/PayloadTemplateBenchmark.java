@@ -0,0 +1,79 @@
+package com.spring.kafkaproj.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.kafkaproj.template.PayloadModifications;
+import com.spring.kafkaproj.template.PayloadTemplate;
+import com.spring.kafkaproj.template.PayloadTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one payload from a template and a data-table row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadTemplateBenchmark {
+
+    @Param({"1", "5", "10"})
+    private int modifications;
+
+    private PayloadTemplate template;
+    private Map<String, String> row;
+    private PayloadModifications compiled;
+
+    @Setup
+    public void setUp() {
+        template = new PayloadTemplates(new DefaultResourceLoader(), new ObjectMapper()).get("benchmark-order.json");
+
+        Map<String, String> all = new LinkedHashMap<>();
+        all.put("orderId", "ORD-77");
+        all.put("status", "PAID");
+        all.put("customer.id", "1234");
+        all.put("customer.address.country", "DE");
+        all.put("items[0].quantity", "3");
+        all.put("items[1].price", "12.5");
+        all.put("total", "49.99");
+        all.put("metadata.source", "mobile");
+        all.put("metadata.trace", "null");
+        all.put("express", "true");
+        row = new LinkedHashMap<>();
+        all.entrySet().stream().limit(modifications).forEach(entry -> row.put(entry.getKey(), entry.getValue()));
+        compiled = PayloadModifications.compile(row);
+    }
+
+    /**
+     * What a step does per data-table row: compile the overrides, then render.
+     */
+    @Benchmark
+    public byte[] compileAndRender() {
+        return template.render(PayloadModifications.compile(row));
+    }
+
+    @Benchmark
+    public byte[] renderPrecompiled() {
+        return template.render(compiled);
+    }
+
+    @Benchmark
+    public PayloadModifications compileOnly() {
+        return PayloadModifications.compile(row);
+    }
+}
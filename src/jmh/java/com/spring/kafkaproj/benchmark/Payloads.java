@@ -0,0 +1,68 @@
+package com.spring.kafkaproj.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order-shaped payloads of a given size, standing in for the records a downstream service emits.
+ */
+final class Payloads {
+
+    /**
+     * Definite paths into an order, cheapest first. Benchmarks take the first N.
+     */
+    static final List<String> ORDER_PATHS = List.of(
+            "orderId", "status", "customer.id", "customer.address.country",
+            "items[0].sku", "items[0].quantity", "total", "metadata.source");
+
+    private Payloads() {
+    }
+
+    /**
+     * An order with the given number of line items: 1 item is about 0.5 KB, 200 items about 25 KB.
+     */
+    static byte[] order(String orderId, int items) {
+        StringBuilder json = new StringBuilder(256 + items * 128);
+        json.append("{\"orderId\":\"").append(orderId).append("\",")
+                .append("\"eventId\":\"").append(orderId).append("-created\",")
+                .append("\"status\":\"CREATED\",")
+                .append("\"createdAt\":\"2024-05-01T10:15:30.123Z\",")
+                .append("\"customer\":{\"id\":42,\"name\":\"Jane Doe\",\"email\":\"jane.doe@example.com\",")
+                .append("\"address\":{\"street\":\"1 Main Street\",\"city\":\"Springfield\",\"zip\":\"12345\",\"country\":\"US\"}},")
+                .append("\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"sku\":\"SKU-").append(1000 + i).append("\",\"description\":\"Item number ").append(i)
+                    .append("\",\"quantity\":").append(1 + i % 5).append(",\"price\":").append(9.99 + i)
+                    .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        json.append("],\"total\":").append(items * 19.99)
+                .append(",\"metadata\":{\"source\":\"web\",\"version\":3,\"trace\":null}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The values {@link #order} has at the first {@code count} of {@link #ORDER_PATHS}.
+     */
+    static Map<String, String> expectedValues(String orderId, int items, int count) {
+        Map<String, String> all = new LinkedHashMap<>();
+        all.put("orderId", orderId);
+        all.put("status", "CREATED");
+        all.put("customer.id", "42");
+        all.put("customer.address.country", "US");
+        all.put("items[0].sku", "SKU-1000");
+        all.put("items[0].quantity", "1");
+        all.put("total", String.valueOf(items * 19.99));
+        all.put("metadata.source", "web");
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (String path : ORDER_PATHS.subList(0, count)) {
+            expected.put(path, all.get(path));
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,180 @@
+package com.spring.kafkaproj.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.kafkaproj.KafkaprojApplication;
+import com.spring.kafkaproj.load.LatencyHistogram;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.service.KafkaConsumerService;
+import com.spring.kafkaproj.service.KafkaProducerService;
+import com.spring.kafkaproj.tailer.StartPosition;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the producer and consumer services against an in-process broker at a fixed rate and
+ * reports produce-to-match latency and sustained throughput. Latency is measured from the time
+ * each record was scheduled, so a stalled harness shows up as latency instead of a lower rate.
+ *
+ * <pre>
+ * mvn -P jmh test-compile exec:exec@load -Dload.args="rate=5000 duration=30 topics=4 partitions=6"
+ * </pre>
+ */
+@Slf4j
+public final class ProduceToMatchLoadBenchmark {
+
+    private ProduceToMatchLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int rate = Integer.parseInt(options.getOrDefault("rate", "2000"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        int topicCount = Integer.parseInt(options.getOrDefault("topics", "2"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "3"));
+        int items = Integer.parseInt(options.getOrDefault("items", "5"));
+        boolean keyed = Boolean.parseBoolean(options.getOrDefault("keyed", "true"));
+        long timeoutSeconds = Long.parseLong(options.getOrDefault("timeout", "30"));
+        File output = new File(options.getOrDefault("out", "target/load-result.json"));
+
+        String[] topics = IntStream.range(0, topicCount).mapToObj(i -> "load-" + i).toArray(String[]::new);
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, topics);
+        broker.afterPropertiesSet();
+
+        // Passed as arguments so they take precedence over application.yml
+        List<String> properties = new ArrayList<>();
+        properties.add("--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString());
+        if (keyed) {
+            properties.add("--test.kafka.tailer.key-paths=" + IntStream.range(0, topicCount)
+                    .mapToObj(i -> "'" + topics[i] + "': '$.orderId'")
+                    .collect(Collectors.joining(", ", "{", "}")));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KafkaprojApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.toArray(String[]::new));
+        try {
+            KafkaProducerService producerService = context.getBean(KafkaProducerService.class);
+            KafkaConsumerService consumerService = context.getBean(KafkaConsumerService.class);
+
+            warmUp(producerService, consumerService, topics, items);
+            Map<String, Object> result = run(producerService, consumerService, topics, items,
+                    rate, durationSeconds, timeoutSeconds);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", Map.of("rate", rate, "durationSeconds", durationSeconds, "topics", topicCount,
+                    "partitions", partitions, "items", items, "keyed", keyed));
+            report.putAll(result);
+            output.getParentFile().mkdirs();
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, report);
+            log.warn("Load result written to {}: {}", output, report);
+        } finally {
+            context.close();
+            broker.destroy();
+        }
+    }
+
+    /**
+     * Starts every tailer and waits until it sees a record, so the measured run never races
+     * a partition assignment.
+     */
+    private static void warmUp(KafkaProducerService producerService, KafkaConsumerService consumerService,
+                               String[] topics, int items) {
+        for (String topic : topics) {
+            String orderId = "WARMUP-" + topic;
+            StartPosition beforeSend = consumerService.endPosition(topic);
+            CompletableFuture<Boolean> match = consumerService.verifyMessageAsync(topic,
+                    JsonMatcher.of(Map.of("orderId", orderId), ValueComparator.EXACT_TEXT), beforeSend, 60);
+            producerService.sendMessage(topic, Payloads.order(orderId, items));
+            if (!match.join()) {
+                throw new RuntimeException("Warm-up record not matched on topic " + topic);
+            }
+        }
+    }
+
+    private static Map<String, Object> run(KafkaProducerService producerService, KafkaConsumerService consumerService,
+                                           String[] topics, int items, int rate, int durationSeconds,
+                                           long timeoutSeconds) throws IOException {
+        long total = (long) rate * durationSeconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        LatencyHistogram matchLatency = new LatencyHistogram();
+        LatencyHistogram ackLatency = new LatencyHistogram();
+        AtomicLong lastMatch = new AtomicLong();
+        AtomicLong failedSends = new AtomicLong();
+        List<CompletableFuture<Boolean>> matches = new ArrayList<>((int) total);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String topic = topics[(int) (i % topics.length)];
+            String orderId = "ORD-" + i;
+            JsonMatcher matcher = JsonMatcher.of(Map.of("orderId", orderId, "status", "CREATED"),
+                    ValueComparator.EXACT_TEXT);
+            matches.add(consumerService.verifyMessageAsync(topic, matcher, StartPosition.buffered(), timeoutSeconds)
+                    .whenComplete((found, e) -> {
+                        if (Boolean.TRUE.equals(found)) {
+                            long now = System.nanoTime();
+                            matchLatency.record(now - scheduled);
+                            lastMatch.accumulateAndGet(now, Math::max);
+                        }
+                    }));
+            producerService.send(new ProducerRecord<>(topic, orderId, Payloads.order(orderId, items)))
+                    .whenComplete((receipt, e) -> {
+                        if (e == null) {
+                            ackLatency.record(System.nanoTime() - scheduled);
+                        } else {
+                            failedSends.incrementAndGet();
+                        }
+                    });
+        }
+        long sendElapsed = System.nanoTime() - start;
+        CompletableFuture.allOf(matches.toArray(CompletableFuture[]::new)).join();
+
+        long matched = matches.stream().filter(CompletableFuture::join).count();
+        double elapsedSeconds = (lastMatch.get() - start) / 1e9;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sent", total);
+        result.put("failedSends", failedSends.get());
+        result.put("matched", matched);
+        result.put("timedOut", total - matched);
+        result.put("offeredRecordsPerSecond", total / (sendElapsed / 1e9));
+        result.put("matchedRecordsPerSecond", elapsedSeconds > 0 ? matched / elapsedSeconds : 0);
+        result.put("produceToMatchLatencyMillis", matchLatency.snapshot());
+        result.put("ackLatencyMillis", ackLatency.snapshot());
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected name=value but got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,76 @@
+package com.spring.kafkaproj.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ways of turning a raw record value into something paths can be checked against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordParsingBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Param({"1", "20", "200"})
+    private int items;
+
+    private byte[] record;
+
+    @Setup
+    public void setUp() {
+        record = Payloads.order("ORD-1", items);
+    }
+
+    /**
+     * The original consume path: decode to a String, then parse the String.
+     */
+    @Benchmark
+    public Object decodeThenParse() throws IOException {
+        return OBJECT_MAPPER.readValue(new String(record, StandardCharsets.UTF_8), Object.class);
+    }
+
+    @Benchmark
+    public Object parseBytesToMap() throws IOException {
+        return OBJECT_MAPPER.readValue(record, Object.class);
+    }
+
+    @Benchmark
+    public JsonNode parseBytesToTree() throws IOException {
+        return OBJECT_MAPPER.readTree(record);
+    }
+
+    /**
+     * Lower bound for any byte-level matcher: visit every token without building anything.
+     */
+    @Benchmark
+    public int tokenizeOnly() throws IOException {
+        int tokens = 0;
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(record)) {
+            while (parser.nextToken() != null) {
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,7 @@
+package com.spring.kafkaproj.aggregate;
+
+/**
+ * Outcome of an aggregate verification. {@code early} is true when it was decided before its window ended.
+ */
+public record AggregateResult(boolean passed, boolean early, String description) {
+}
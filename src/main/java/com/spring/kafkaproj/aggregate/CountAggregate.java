@@ -0,0 +1,60 @@
+package com.spring.kafkaproj.aggregate;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Counts the records of the window against a bound. At least N passes on the Nth record,
+ * at most N and exactly N fail on record N + 1, everything else is decided when the window ends.
+ */
+public final class CountAggregate implements RecordAggregate {
+
+    public enum Bound { AT_LEAST, AT_MOST, EXACTLY }
+
+    private final Bound bound;
+    private final long expected;
+    private long count;
+
+    private CountAggregate(Bound bound, long expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Expected record count must not be negative, got " + expected);
+        }
+        this.bound = bound;
+        this.expected = expected;
+    }
+
+    public static CountAggregate atLeast(long expected) {
+        return new CountAggregate(Bound.AT_LEAST, expected);
+    }
+
+    public static CountAggregate atMost(long expected) {
+        return new CountAggregate(Bound.AT_MOST, expected);
+    }
+
+    public static CountAggregate exactly(long expected) {
+        return new CountAggregate(Bound.EXACTLY, expected);
+    }
+
+    @Override
+    public Outcome accept(ConsumerRecord<byte[], byte[]> record) {
+        count++;
+        if (bound == Bound.AT_LEAST) {
+            return count >= expected ? Outcome.PASSED : Outcome.OPEN;
+        }
+        return count > expected ? Outcome.FAILED : Outcome.OPEN;
+    }
+
+    @Override
+    public Outcome close() {
+        boolean passed = switch (bound) {
+            case AT_LEAST -> count >= expected;
+            case AT_MOST -> count <= expected;
+            case EXACTLY -> count == expected;
+        };
+        return passed ? Outcome.PASSED : Outcome.FAILED;
+    }
+
+    @Override
+    public String describe() {
+        return count + " matching records, expected " + bound.name().toLowerCase().replace('_', ' ') + " " + expected;
+    }
+}
@@ -0,0 +1,53 @@
+package com.spring.kafkaproj.aggregate;
+
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fails on the first record whose field repeats the value of an earlier record of the window,
+ * passes when the window ends without one. Only the key texts are kept, never the records.
+ * Records without the field are not checked.
+ */
+public final class DistinctKeyAggregate implements RecordAggregate {
+
+    private final JsonKeyExtractor keyExtractor;
+    private final Set<String> seen = new HashSet<>();
+    private String duplicate;
+
+    private DistinctKeyAggregate(JsonKeyExtractor keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    public static DistinctKeyAggregate of(String path) {
+        JsonKeyExtractor keyExtractor = JsonKeyExtractor.compile(path);
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Duplicate check needs a definite path, got " + path);
+        }
+        return new DistinctKeyAggregate(keyExtractor);
+    }
+
+    @Override
+    public Outcome accept(ConsumerRecord<byte[], byte[]> record) {
+        String key = keyExtractor.extract(record.value());
+        if (key != null && !seen.add(key)) {
+            duplicate = key;
+            return Outcome.FAILED;
+        }
+        return Outcome.OPEN;
+    }
+
+    @Override
+    public Outcome close() {
+        return Outcome.PASSED;
+    }
+
+    @Override
+    public String describe() {
+        return duplicate != null
+                ? "duplicate value " + duplicate + " at " + keyExtractor.getPath()
+                : seen.size() + " distinct values at " + keyExtractor.getPath();
+    }
+}
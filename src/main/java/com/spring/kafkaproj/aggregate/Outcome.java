@@ -0,0 +1,3 @@
+package com.spring.kafkaproj.aggregate;
+
+public enum Outcome { OPEN, PASSED, FAILED }
@@ -0,0 +1,26 @@
+package com.spring.kafkaproj.aggregate;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Assertion folded over the records of a window one at a time, keeping only its running state.
+ * A tailer calls it under its own lock, so implementations need no synchronization.
+ */
+public interface RecordAggregate {
+
+    /**
+     * Folds in a record that passed the verification's filter. Returns PASSED or FAILED as soon
+     * as no later record can change the outcome, OPEN otherwise.
+     */
+    Outcome accept(ConsumerRecord<byte[], byte[]> record);
+
+    /**
+     * Outcome when the window ends while still OPEN.
+     */
+    Outcome close();
+
+    /**
+     * Current state and what was expected, for logs and assertion messages.
+     */
+    String describe();
+}
@@ -0,0 +1,60 @@
+package com.spring.kafkaproj.aggregate;
+
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.math.BigDecimal;
+
+/**
+ * Sums a numeric field over the records of the window and compares the total with the expected
+ * value when the window ends. A later record can always move the total, so it never finishes early.
+ */
+@Slf4j
+public final class SumAggregate implements RecordAggregate {
+
+    private final JsonKeyExtractor valueExtractor;
+    private final BigDecimal expected;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private long count;
+
+    private SumAggregate(JsonKeyExtractor valueExtractor, BigDecimal expected) {
+        this.valueExtractor = valueExtractor;
+        this.expected = expected;
+    }
+
+    public static SumAggregate of(String path, BigDecimal expected) {
+        JsonKeyExtractor valueExtractor = JsonKeyExtractor.compile(path);
+        if (valueExtractor == null) {
+            throw new IllegalArgumentException("Sum needs a definite path, got " + path);
+        }
+        return new SumAggregate(valueExtractor, expected);
+    }
+
+    @Override
+    public Outcome accept(ConsumerRecord<byte[], byte[]> record) {
+        String value = valueExtractor.extract(record.value());
+        if (value == null) {
+            return Outcome.OPEN;
+        }
+        try {
+            sum = sum.add(new BigDecimal(value));
+            count++;
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring non-numeric value {} at {} in partition {} offset {}",
+                    value, valueExtractor.getPath(), record.partition(), record.offset());
+        }
+        return Outcome.OPEN;
+    }
+
+    @Override
+    public Outcome close() {
+        return sum.compareTo(expected) == 0 ? Outcome.PASSED : Outcome.FAILED;
+    }
+
+    @Override
+    public String describe() {
+        return "sum of " + valueExtractor.getPath() + " over " + count + " records is " + sum.toPlainString()
+                + ", expected " + expected.toPlainString();
+    }
+}
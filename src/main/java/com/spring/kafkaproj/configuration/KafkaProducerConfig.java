@@ -1,10 +1,12 @@
 package com.spring.kafkaproj.configuration;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -18,17 +20,69 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${test.kafka.bulk.linger-ms:20}")
+    private int bulkLingerMs;
+
+    @Value("${test.kafka.bulk.batch-size:262144}")
+    private int bulkBatchSize;
+
+    @Value("${test.kafka.bulk.compression-type:lz4}")
+    private String bulkCompressionType;
+
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> props = new HashMap<>();
-        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        return new DefaultKafkaProducerFactory<>(props);
+    @Primary
+    public ProducerFactory<String, byte[]> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(baseProps());
     }
 
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    @Primary
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
-}
\ No newline at end of file
+
+    /**
+     * Producer tuned for throughput rather than per-record latency, used for bulk seeding.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> bulkProducerFactory() {
+        Map<String, Object> props = baseProps();
+        props.put(ProducerConfig.LINGER_MS_CONFIG, bulkLingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, bulkBatchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, bulkCompressionType);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> bulkKafkaTemplate() {
+        return new KafkaTemplate<>(bulkProducerFactory());
+    }
+
+    /**
+     * Bulk settings with one producer per sending thread, so generated load is not funnelled
+     * through a single producer's buffer and I/O thread.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> loadProducerFactory() {
+        DefaultKafkaProducerFactory<String, byte[]> factory =
+                new DefaultKafkaProducerFactory<>(bulkProducerFactory().getConfigurationProperties());
+        factory.setProducerPerThread(true);
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> loadKafkaTemplate() {
+        return new KafkaTemplate<>(loadProducerFactory());
+    }
+
+    private Map<String, Object> baseProps() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return props;
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.kafkaproj.matching;
+
+/**
+ * {@link ValueComparator#EXACT_TEXT}. Compiled expectations precompute the number or boolean
+ * the expected text stands for, so scalar tokens are compared without building their text.
+ */
+final class ExactTextComparator implements ValueComparator {
+
+    @Override
+    public boolean matches(Object actualValue, String expectedValue) {
+        if (isNullText(expectedValue)) {
+            return actualValue == null;
+        }
+        return actualValue != null && actualValue.toString().equals(expectedValue);
+    }
+
+    @Override
+    public ValueMatcher compile(String expectedValue) {
+        if (isNullText(expectedValue)) {
+            return actualValue -> actualValue == null;
+        }
+        return new TextMatcher(expectedValue);
+    }
+
+    private static boolean isNullText(String expectedValue) {
+        return expectedValue == null || "null".equalsIgnoreCase(expectedValue) || "<null>".equals(expectedValue);
+    }
+
+    private static final class TextMatcher implements ValueMatcher {
+
+        private final String text;
+        // Set only when the text is exactly how the value prints, so comparing values equals comparing text
+        private final boolean isLong;
+        private final long longValue;
+        private final boolean isDouble;
+        private final double doubleValue;
+
+        private TextMatcher(String text) {
+            this.text = text;
+            this.isLong = Literals.isInteger(text) && canonicalLong(text);
+            this.longValue = isLong ? Long.parseLong(text) : 0;
+            Double parsed = parseDouble(text);
+            this.isDouble = parsed != null && String.valueOf(parsed.doubleValue()).equals(text);
+            this.doubleValue = isDouble ? parsed : 0;
+        }
+
+        @Override
+        public boolean matches(Object actualValue) {
+            return actualValue != null && actualValue.toString().equals(text);
+        }
+
+        @Override
+        public String indexKey() {
+            return text;
+        }
+
+        @Override
+        public boolean matchesNull() {
+            return false;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return isLong && actualValue == longValue;
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return isDouble && Double.compare(actualValue, doubleValue) == 0;
+        }
+
+        @Override
+        public boolean matchesBoolean(boolean actualValue) {
+            return text.equals(actualValue ? "true" : "false");
+        }
+
+        @Override
+        public boolean matchesText(char[] chars, int offset, int length) {
+            return Literals.sameText(text, chars, offset, length);
+        }
+
+        private static boolean canonicalLong(String text) {
+            try {
+                return Long.toString(Long.parseLong(text)).equals(text);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static Double parseDouble(String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.spring.kafkaproj.matching;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads the text of a single scalar field from a raw JSON record, walking only the subtrees
+ * on the way to it and stopping as soon as it is found. The text is the string form
+ * {@link ValueComparator#EXACT_TEXT} compares against.
+ */
+@Slf4j
+public final class JsonKeyExtractor {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String path;
+    private final List<Object> segments;
+
+    private JsonKeyExtractor(String path, List<Object> segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Returns an extractor for a definite path, or null when the path needs full JsonPath evaluation.
+     */
+    public static JsonKeyExtractor compile(String path) {
+        String normalized = JsonPaths.normalize(path);
+        List<Object> segments = StreamingFieldMatcher.segments(normalized);
+        if (segments == null || segments.isEmpty()) {
+            return null;
+        }
+        return new JsonKeyExtractor(normalized, List.copyOf(segments));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the key text, or null when the record is not JSON or the field is missing,
+     * null or not a scalar.
+     */
+    public String extract(byte[] json) {
+        if (json == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return extract(parser, 0);
+        } catch (IOException e) {
+            log.debug("Error extracting key at path {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private String extract(JsonParser parser, int depth) throws IOException {
+        if (depth == segments.size()) {
+            return switch (parser.currentToken()) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NUMBER_INT -> parser.getNumberValue().toString();
+                case VALUE_NUMBER_FLOAT -> String.valueOf(parser.getDoubleValue());
+                case VALUE_TRUE, VALUE_FALSE -> parser.getText();
+                default -> null;
+            };
+        }
+
+        Object segment = segments.get(depth);
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT && segment instanceof String name) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean found = name.equals(parser.currentName());
+                parser.nextToken();
+                if (found) {
+                    return extract(parser, depth + 1);
+                }
+                parser.skipChildren();
+            }
+        } else if (token == JsonToken.START_ARRAY && segment instanceof Integer index) {
+            int current = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (current++ == index) {
+                    return extract(parser, depth + 1);
+                }
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.spring.kafkaproj.matching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of expected path values compiled once per verification. Each record is parsed
+ * a single time and every path is evaluated against the parsed document.
+ */
+@Slf4j
+public final class JsonMatcher {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Configuration CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonProvider(OBJECT_MAPPER))
+            .mappingProvider(new JacksonMappingProvider(OBJECT_MAPPER))
+            .build();
+
+    private final List<FieldExpectation> fields;
+    // Used instead of building the whole document when every path is a definite path
+    private final StreamingFieldMatcher streamingMatcher;
+
+    private JsonMatcher(List<FieldExpectation> fields, StreamingFieldMatcher streamingMatcher) {
+        this.fields = fields;
+        this.streamingMatcher = streamingMatcher;
+    }
+
+    public static JsonMatcher of(Map<String, String> expectedValues, ValueComparator comparator) {
+        List<FieldExpectation> fields = new ArrayList<>(expectedValues.size());
+        for (Map.Entry<String, String> entry : expectedValues.entrySet()) {
+            fields.add(new FieldExpectation(entry.getKey(), JsonPaths.compile(entry.getKey()), entry.getValue(),
+                    comparator.compile(entry.getValue())));
+        }
+        StreamingFieldMatcher streamingMatcher = StreamingFieldMatcher.compile(fields, OBJECT_MAPPER);
+        return new JsonMatcher(List.copyOf(fields), streamingMatcher);
+    }
+
+    public boolean matches(String jsonMessage) {
+        try {
+            if (streamingMatcher != null) {
+                return streamingMatcher.matches(jsonMessage);
+            }
+            return matchesDocument(OBJECT_MAPPER.readValue(jsonMessage, Object.class));
+        } catch (Exception e) {
+            log.error("Error matching values: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Matches a raw record value. The bytes are parsed as UTF-8 JSON directly, without
+     * decoding them into an intermediate String.
+     */
+    public boolean matches(byte[] jsonMessage) {
+        if (jsonMessage == null) {
+            return false;
+        }
+        try {
+            if (streamingMatcher != null) {
+                return streamingMatcher.matches(jsonMessage);
+            }
+            return matchesDocument(OBJECT_MAPPER.readValue(jsonMessage, Object.class));
+        } catch (Exception e) {
+            log.error("Error matching values: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean matches(ByteBuffer jsonMessage) {
+        if (jsonMessage == null) {
+            return false;
+        }
+        if (!jsonMessage.hasArray()) {
+            byte[] copy = new byte[jsonMessage.remaining()];
+            jsonMessage.duplicate().get(copy);
+            return matches(copy);
+        }
+        int offset = jsonMessage.arrayOffset() + jsonMessage.position();
+        try {
+            if (streamingMatcher != null) {
+                return streamingMatcher.matches(jsonMessage.array(), offset, jsonMessage.remaining());
+            }
+            Object document = OBJECT_MAPPER.readValue(jsonMessage.array(), offset, jsonMessage.remaining(), Object.class);
+            return matchesDocument(document);
+        } catch (Exception e) {
+            log.error("Error matching values: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the key every record this matcher accepts has at the given path, or null when the
+     * path is not checked or its expectation has no single key, see {@link ValueMatcher#indexKey()}.
+     */
+    public String indexKey(String path) {
+        String normalized = JsonPaths.normalize(path);
+        for (FieldExpectation field : fields) {
+            if (JsonPaths.normalize(field.path()).equals(normalized)) {
+                return field.matcher().indexKey();
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesDocument(Object document) {
+        for (FieldExpectation field : fields) {
+            Object actualValue = field.compiledPath().read(document, CONFIGURATION);
+            if (!field.matcher().matches(actualValue)) {
+                log.debug("Value mismatch at path {}: expected {} but was {}",
+                        field.path(), field.expectedValue(), actualValue);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    record FieldExpectation(String path, JsonPath compiledPath, String expectedValue, ValueMatcher matcher) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.spring.kafkaproj.matching;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class JsonPaths {
+
+    private static final Map<String, JsonPath> COMPILED = new ConcurrentHashMap<>();
+
+    private JsonPaths() {
+    }
+
+    public static String normalize(String path) {
+        return path.startsWith("$") ? path : "$." + path;
+    }
+
+    /**
+     * Returns the compiled form of the given path, compiling it at most once per normalized path.
+     */
+    public static JsonPath compile(String path) {
+        return COMPILED.computeIfAbsent(normalize(path), JsonPath::compile);
+    }
+}
@@ -0,0 +1,72 @@
+package com.spring.kafkaproj.matching;
+
+/**
+ * Classifies data-table literals by hand instead of with a regular expression, so it is cheap
+ * enough to run for every rendered or compared value.
+ */
+public final class Literals {
+
+    private Literals() {
+    }
+
+    /**
+     * True for an optional minus sign followed by digits, e.g. {@code -42}.
+     */
+    public static boolean isInteger(String value) {
+        int start = value.startsWith("-") ? 1 : 0;
+        return digits(value, start, value.length());
+    }
+
+    /**
+     * True for an integer with a fractional part, e.g. {@code -4.20}.
+     */
+    public static boolean isDecimal(String value) {
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return false;
+        }
+        int start = value.startsWith("-") ? 1 : 0;
+        return digits(value, start, dot) && digits(value, dot + 1, value.length());
+    }
+
+    public static boolean isBoolean(String value) {
+        return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+    }
+
+    static boolean sameText(String expected, char[] text, int offset, int length) {
+        if (expected.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (expected.charAt(i) != text[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean sameTextIgnoreCase(String expected, char[] text, int offset, int length) {
+        if (expected.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(expected.charAt(i)) != Character.toLowerCase(text[offset + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean digits(String value, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,248 @@
+package com.spring.kafkaproj.matching;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-level matcher for definite paths (plain fields and array indexes). Only the
+ * subtrees on the way to an expected field are visited, everything else is skipped,
+ * and the record is rejected at the first mismatching field.
+ */
+final class StreamingFieldMatcher {
+
+    private final JsonFactory jsonFactory;
+    private final ObjectMapper objectMapper;
+    private final Node root = new Node();
+    private final int fieldCount;
+
+    private StreamingFieldMatcher(ObjectMapper objectMapper, int fieldCount) {
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Builds a streaming matcher, or returns null when one of the paths needs full
+     * JsonPath evaluation (wildcards, filters, deep scans, slices or functions).
+     */
+    static StreamingFieldMatcher compile(List<JsonMatcher.FieldExpectation> fields, ObjectMapper objectMapper) {
+        StreamingFieldMatcher matcher = new StreamingFieldMatcher(objectMapper, fields.size());
+        int fieldIndex = 0;
+        for (JsonMatcher.FieldExpectation field : fields) {
+            List<Object> segments = segments(JsonPaths.normalize(field.path()));
+            if (segments == null || segments.isEmpty()) {
+                return null;
+            }
+            Node node = matcher.root;
+            for (Object segment : segments) {
+                if (node.expectedValue != null) {
+                    return null;
+                }
+                node = node.child(segment);
+            }
+            if (node.expectedValue != null || node.hasChildren()) {
+                // Same path twice, or one expected path nested below another
+                return null;
+            }
+            node.expectedValue = field.matcher();
+            node.fieldIndex = fieldIndex++;
+        }
+        return matcher;
+    }
+
+    boolean matches(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return matches(parser);
+        }
+    }
+
+    boolean matches(byte[] json, int offset, int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json, offset, length)) {
+            return matches(parser);
+        }
+    }
+
+    boolean matches(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return matches(parser);
+        }
+    }
+
+    private boolean matches(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            return false;
+        }
+        Progress progress = new Progress(fieldCount);
+        visit(parser, root, progress);
+        return !progress.failed && progress.remaining == 0;
+    }
+
+    /**
+     * Visits the value the parser is positioned on. Returns false to stop parsing, either
+     * because a field mismatched or because every expected field has been checked.
+     */
+    private boolean visit(JsonParser parser, Node node, Progress progress) throws IOException {
+        if (node.expectedValue != null) {
+            if (!test(parser, node.expectedValue)) {
+                progress.failed = true;
+                return false;
+            }
+            // A duplicate key is checked again but only counts once
+            if (!progress.satisfied.get(node.fieldIndex)) {
+                progress.satisfied.set(node.fieldIndex);
+                progress.remaining--;
+            }
+            return progress.remaining > 0;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT && node.fields != null) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = node.fields.get(parser.currentName());
+                parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else if (!visit(parser, child, progress)) {
+                    return false;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY && node.indexes != null) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                Node child = node.indexes.get(index++);
+                if (child == null) {
+                    parser.skipChildren();
+                } else if (!visit(parser, child, progress)) {
+                    return false;
+                }
+            }
+        } else {
+            // Shape does not lead to any expected field
+            parser.skipChildren();
+        }
+        return true;
+    }
+
+    /**
+     * Hands scalar tokens to the typed methods of the matcher, straight from the parser's buffers.
+     */
+    private boolean test(JsonParser parser, ValueMatcher expected) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> expected.matchesText(parser.getTextCharacters(), parser.getTextOffset(),
+                    parser.getTextLength());
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? expected.matches(parser.getBigIntegerValue())
+                    : expected.matchesLong(parser.getLongValue());
+            case VALUE_NUMBER_FLOAT -> expected.matchesDouble(parser.getDoubleValue());
+            case VALUE_TRUE -> expected.matchesBoolean(true);
+            case VALUE_FALSE -> expected.matchesBoolean(false);
+            case VALUE_NULL -> expected.matchesNull();
+            default -> expected.matches(objectMapper.readValue(parser, Object.class));
+        };
+    }
+
+    /**
+     * Splits a normalized path into field names and array indexes, or returns null when
+     * the path is not a plain chain of both.
+     */
+    static List<Object> segments(String path) {
+        if (!path.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty() || !isPlainName(name)) {
+                    return null;
+                }
+                segments.add(name);
+                i = end;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                String inner = path.substring(i + 1, end);
+                if (inner.length() >= 2 && (inner.charAt(0) == '\'' || inner.charAt(0) == '"')
+                        && inner.charAt(inner.length() - 1) == inner.charAt(0)) {
+                    String name = inner.substring(1, inner.length() - 1);
+                    if (name.indexOf('\'') >= 0 || name.indexOf('"') >= 0 || name.indexOf(',') >= 0) {
+                        return null;
+                    }
+                    segments.add(name);
+                } else if (!inner.isEmpty() && inner.chars().allMatch(Character::isDigit)) {
+                    segments.add(Integer.parseInt(inner));
+                } else {
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                return null;
+            }
+        }
+        return segments;
+    }
+
+    private static boolean isPlainName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '*' || c == '(' || c == ')' || c == '@' || c == '?' || c == ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node {
+
+        private Map<String, Node> fields;
+        private Map<Integer, Node> indexes;
+        private ValueMatcher expectedValue;
+        private int fieldIndex;
+
+        private Node child(Object segment) {
+            if (segment instanceof Integer index) {
+                if (indexes == null) {
+                    indexes = new HashMap<>();
+                }
+                return indexes.computeIfAbsent(index, key -> new Node());
+            }
+            if (fields == null) {
+                fields = new HashMap<>();
+            }
+            return fields.computeIfAbsent((String) segment, key -> new Node());
+        }
+
+        private boolean hasChildren() {
+            return fields != null || indexes != null;
+        }
+    }
+
+    private static final class Progress {
+
+        private final BitSet satisfied;
+        private int remaining;
+        private boolean failed;
+
+        private Progress(int remaining) {
+            this.satisfied = new BitSet(remaining);
+            this.remaining = remaining;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.spring.kafkaproj.matching;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ValueComparator#TYPED}. The type of the expectation is decided once from the expected
+ * text, each record then only runs the comparison for that type.
+ */
+final class TypedComparator implements ValueComparator {
+
+    static final String REGEX_PREFIX = "regex:";
+
+    @Override
+    public boolean matches(Object actualValue, String expectedValue) {
+        return compile(expectedValue).matches(actualValue);
+    }
+
+    @Override
+    public ValueMatcher compile(String expectedValue) {
+        if (expectedValue == null || "null".equalsIgnoreCase(expectedValue) || "<null>".equals(expectedValue)) {
+            return new NullMatcher();
+        }
+        if (expectedValue.startsWith(REGEX_PREFIX)) {
+            return new RegexMatcher(Pattern.compile(expectedValue.substring(REGEX_PREFIX.length())));
+        }
+        if (Literals.isInteger(expectedValue)) {
+            BigInteger value = new BigInteger(expectedValue);
+            return value.bitLength() < Long.SIZE
+                    ? new LongMatcher(value.longValue())
+                    : new DecimalMatcher(new BigDecimal(value));
+        }
+        if (Literals.isDecimal(expectedValue)) {
+            return new DoubleMatcher(Double.parseDouble(expectedValue));
+        }
+        if (Literals.isBoolean(expectedValue)) {
+            return new BooleanMatcher(Boolean.parseBoolean(expectedValue));
+        }
+        return new StringMatcher(expectedValue);
+    }
+
+    /**
+     * Dispatches boxed values to the typed methods, which all reject by default.
+     */
+    private abstract static class TypedMatcher implements ValueMatcher {
+
+        @Override
+        public boolean matches(Object actualValue) {
+            if (actualValue == null) {
+                return matchesNull();
+            }
+            if (actualValue instanceof Long || actualValue instanceof Integer
+                    || actualValue instanceof Short || actualValue instanceof Byte) {
+                return matchesLong(((Number) actualValue).longValue());
+            }
+            if (actualValue instanceof Double || actualValue instanceof Float) {
+                return matchesDouble(((Number) actualValue).doubleValue());
+            }
+            if (actualValue instanceof Boolean bool) {
+                return matchesBoolean(bool);
+            }
+            if (actualValue instanceof Number number) {
+                return matchesDecimal(new BigDecimal(number.toString()));
+            }
+            String text = actualValue.toString();
+            return matchesText(text.toCharArray(), 0, text.length());
+        }
+
+        @Override
+        public boolean matchesNull() {
+            return false;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return false;
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return false;
+        }
+
+        @Override
+        public boolean matchesBoolean(boolean actualValue) {
+            return false;
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            return false;
+        }
+
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return false;
+        }
+    }
+
+    private static final class NullMatcher extends TypedMatcher {
+
+        @Override
+        public boolean matchesNull() {
+            return true;
+        }
+    }
+
+    private static final class LongMatcher extends TypedMatcher {
+
+        private final long expected;
+
+        private LongMatcher(long expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return actualValue == expected;
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return actualValue == expected;
+        }
+
+        @Override
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return actualValue.compareTo(BigDecimal.valueOf(expected)) == 0;
+        }
+
+        /**
+         * Numbers sent as strings, e.g. {@code "42"}, are parsed in place.
+         */
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            int i = offset;
+            int end = offset + length;
+            boolean negative = i < end && text[i] == '-';
+            if (i < end && (text[i] == '-' || text[i] == '+')) {
+                i++;
+            }
+            if (i == end) {
+                return false;
+            }
+            long value = 0;
+            try {
+                for (; i < end; i++) {
+                    char c = text[i];
+                    if (c < '0' || c > '9') {
+                        return false;
+                    }
+                    value = Math.addExact(Math.multiplyExact(value, 10), negative ? -(c - '0') : c - '0');
+                }
+            } catch (ArithmeticException e) {
+                return false;
+            }
+            return value == expected;
+        }
+    }
+
+    private static final class DoubleMatcher extends TypedMatcher {
+
+        private final double expected;
+
+        private DoubleMatcher(double expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return actualValue == expected;
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return actualValue == expected;
+        }
+
+        @Override
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return actualValue.doubleValue() == expected;
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            try {
+                return Double.parseDouble(new String(text, offset, length)) == expected;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Integers too large for a long.
+     */
+    private static final class DecimalMatcher extends TypedMatcher {
+
+        private final BigDecimal expected;
+
+        private DecimalMatcher(BigDecimal expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return actualValue.compareTo(expected) == 0;
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            try {
+                return new BigDecimal(text, offset, length).compareTo(expected) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class BooleanMatcher extends TypedMatcher {
+
+        private final boolean expected;
+
+        private BooleanMatcher(boolean expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public boolean matchesBoolean(boolean actualValue) {
+            return actualValue == expected;
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            return Literals.sameTextIgnoreCase(expected ? "true" : "false", text, offset, length);
+        }
+    }
+
+    private static final class StringMatcher extends TypedMatcher {
+
+        private final String expected;
+
+        private StringMatcher(String expected) {
+            this.expected = expected;
+        }
+
+        /**
+         * Numbers only match when they print as the expected text, which is also how the key
+         * extractor prints them.
+         */
+        @Override
+        public String indexKey() {
+            return expected;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return expected.equals(Long.toString(actualValue));
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return expected.equals(Double.toString(actualValue));
+        }
+
+        @Override
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return expected.equals(actualValue.toString());
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            return Literals.sameText(expected, text, offset, length);
+        }
+    }
+
+    private static final class RegexMatcher extends TypedMatcher {
+
+        private final Pattern pattern;
+
+        private RegexMatcher(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean matchesLong(long actualValue) {
+            return pattern.matcher(Long.toString(actualValue)).matches();
+        }
+
+        @Override
+        public boolean matchesDouble(double actualValue) {
+            return pattern.matcher(Double.toString(actualValue)).matches();
+        }
+
+        @Override
+        public boolean matchesBoolean(boolean actualValue) {
+            return pattern.matcher(Boolean.toString(actualValue)).matches();
+        }
+
+        @Override
+        boolean matchesDecimal(BigDecimal actualValue) {
+            return pattern.matcher(actualValue.toString()).matches();
+        }
+
+        @Override
+        public boolean matchesText(char[] text, int offset, int length) {
+            return pattern.matcher(CharBuffer.wrap(text, offset, length)).matches();
+        }
+    }
+}
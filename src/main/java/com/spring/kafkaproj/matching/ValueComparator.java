@@ -0,0 +1,28 @@
+package com.spring.kafkaproj.matching;
+
+@FunctionalInterface
+public interface ValueComparator {
+
+    /**
+     * Plain text comparison: "null" or "&lt;null&gt;" expects a null value, anything else
+     * must equal the string form of the actual value.
+     */
+    ValueComparator EXACT_TEXT = new ExactTextComparator();
+
+    /**
+     * Comparison by the type the expected text denotes: "null" or "&lt;null&gt;" expects null,
+     * integers and decimals compare numerically (also against numbers sent as strings), "true" and
+     * "false" compare as booleans, "regex:" followed by a pattern must match the whole actual
+     * text, and anything else must equal it.
+     */
+    ValueComparator TYPED = new TypedComparator();
+
+    boolean matches(Object actualValue, String expectedValue);
+
+    /**
+     * Compiles the expected value once for comparison with many actual values.
+     */
+    default ValueMatcher compile(String expectedValue) {
+        return actualValue -> matches(actualValue, expectedValue);
+    }
+}
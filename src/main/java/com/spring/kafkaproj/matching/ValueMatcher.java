@@ -0,0 +1,40 @@
+package com.spring.kafkaproj.matching;
+
+/**
+ * One expected value compiled for repeated comparison. The streaming matcher hands scalar tokens
+ * to the typed methods, so a matcher that overrides them compares without boxing numbers or
+ * building Strings. By default they all fall back to {@link #matches(Object)}.
+ */
+public interface ValueMatcher {
+
+    boolean matches(Object actualValue);
+
+    /**
+     * The text {@link JsonKeyExtractor} reads from every value this matcher accepts, or null when
+     * accepted values can read differently, e.g. a regex, or a number that also matches as a
+     * string. Pending matches are only indexed by a non-null key.
+     */
+    default String indexKey() {
+        return null;
+    }
+
+    default boolean matchesNull() {
+        return matches(null);
+    }
+
+    default boolean matchesLong(long actualValue) {
+        return matches(actualValue);
+    }
+
+    default boolean matchesDouble(double actualValue) {
+        return matches(actualValue);
+    }
+
+    default boolean matchesBoolean(boolean actualValue) {
+        return matches(actualValue);
+    }
+
+    default boolean matchesText(char[] text, int offset, int length) {
+        return matches(new String(text, offset, length));
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring.kafkaproj.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry point to the harness meters, one {@link TopicMetrics} per topic.
+ */
+@Component
+@RequiredArgsConstructor
+public class HarnessMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicMetrics> topics = new ConcurrentHashMap<>();
+
+    public TopicMetrics forTopic(String topic) {
+        return topics.computeIfAbsent(topic, key -> new TopicMetrics(meterRegistry, key));
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.kafkaproj.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSupport;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes every meter of the run to a JSON file when the context shuts down. Times are in milliseconds.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MetricsFileExporter implements DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @Value("${test.kafka.metrics.file:target/kafka-metrics.json}")
+    private String metricsFile;
+
+    @Override
+    public void destroy() {
+        if (metricsFile.isBlank()) {
+            return;
+        }
+        List<Map<String, Object>> meters = new ArrayList<>();
+        meterRegistry.getMeters().stream()
+                // Percentile gauges are reported with the meter they belong to
+                .filter(meter -> meter.getId().getTag("phi") == null)
+                .sorted(Comparator.comparing((Meter meter) -> meter.getId().getName())
+                        .thenComparing(meter -> meter.getId().getTags().toString()))
+                .forEach(meter -> meters.add(describe(meter)));
+
+        File file = new File(metricsFile);
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, meters);
+            log.info("Wrote {} meters to {}", meters.size(), file);
+        } catch (Exception e) {
+            log.error("Error writing metrics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> describe(Meter meter) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("name", meter.getId().getName());
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        description.put("tags", tags);
+
+        if (meter instanceof Timer timer) {
+            description.put("count", timer.count());
+            description.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+            description.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            description.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            percentiles(timer, true).forEach((name, value) -> description.put(name + "Ms", value));
+        } else if (meter instanceof DistributionSummary summary) {
+            description.put("count", summary.count());
+            description.put("total", summary.totalAmount());
+            description.put("mean", summary.mean());
+            description.put("max", summary.max());
+            description.putAll(percentiles(summary, false));
+        } else {
+            meter.measure().forEach(measurement ->
+                    description.put(measurement.getStatistic().getTagValueRepresentation(), measurement.getValue()));
+        }
+        return description;
+    }
+
+    private Map<String, Double> percentiles(HistogramSupport histogram, boolean timer) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : histogram.takeSnapshot().percentileValues()) {
+            String name = "p" + BigDecimal.valueOf(value.percentile() * 100).stripTrailingZeros().toPlainString();
+            percentiles.put(name, timer ? value.value(TimeUnit.MILLISECONDS) : value.value());
+        }
+        return percentiles;
+    }
+}
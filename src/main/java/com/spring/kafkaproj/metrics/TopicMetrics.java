@@ -0,0 +1,102 @@
+package com.spring.kafkaproj.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Meters of one topic, looked up once so hot paths only pay for the recording itself.
+ */
+public final class TopicMetrics {
+
+    private final Timer assignment;
+    private final Timer firstRecord;
+    private final Counter recordsConsumed;
+    private final Counter bytesConsumed;
+    private final Timer matchEvaluation;
+    private final DistributionSummary recordsScanned;
+    private final Timer matched;
+    private final Timer timedOut;
+    private final Timer failed;
+    private final Timer aggregatePassed;
+    private final Timer aggregateFailed;
+    private final Timer sendAck;
+
+    TopicMetrics(MeterRegistry registry, String topic) {
+        this.assignment = Timer.builder("kafka.tailer.assignment")
+                .description("Time from starting a tailer to its first partition assignment")
+                .tag("topic", topic).register(registry);
+        this.firstRecord = Timer.builder("kafka.tailer.first.record")
+                .description("Time from starting a tailer to the first record it consumed")
+                .tag("topic", topic).register(registry);
+        this.recordsConsumed = Counter.builder("kafka.tailer.records")
+                .tag("topic", topic).register(registry);
+        this.bytesConsumed = Counter.builder("kafka.tailer.bytes")
+                .baseUnit("bytes").tag("topic", topic).register(registry);
+        this.matchEvaluation = Timer.builder("kafka.match.evaluation")
+                .description("Time to evaluate one pending match against one record")
+                .tag("topic", topic).register(registry);
+        this.recordsScanned = DistributionSummary.builder("kafka.verification.records.scanned")
+                .description("Records evaluated by a verification before it completed")
+                .tag("topic", topic).publishPercentiles(0.5, 0.99).register(registry);
+        this.matched = verification(registry, topic, "matched");
+        this.timedOut = verification(registry, topic, "timeout");
+        this.failed = verification(registry, topic, "error");
+        this.aggregatePassed = verification(registry, topic, "passed");
+        this.aggregateFailed = verification(registry, topic, "failed");
+        this.sendAck = Timer.builder("kafka.producer.ack")
+                .description("Time from send to broker acknowledgement")
+                .tag("topic", topic).publishPercentiles(0.5, 0.99, 0.999).register(registry);
+    }
+
+    private static Timer verification(MeterRegistry registry, String topic, String outcome) {
+        return Timer.builder("kafka.verification")
+                .description("Time from registering a verification to its outcome")
+                .tags("topic", topic, "outcome", outcome).publishPercentiles(0.5, 0.99).register(registry);
+    }
+
+    public void assigned(long startNanos) {
+        assignment.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void firstRecord(long startNanos) {
+        firstRecord.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void consumed(int bytes) {
+        recordsConsumed.increment();
+        bytesConsumed.increment(bytes);
+    }
+
+    public void matchEvaluated(long startNanos) {
+        matchEvaluation.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void scanned(int records) {
+        recordsScanned.record(records);
+    }
+
+    /**
+     * Records a verification outcome: matched when {@code failure} is null, timeout when it is a
+     * {@link TimeoutException}, and error for anything else, cancellations included.
+     */
+    public void verified(Throwable failure, long startNanos) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        Timer outcome = cause == null ? matched : cause instanceof TimeoutException ? timedOut : failed;
+        outcome.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void aggregated(boolean passed, long startNanos) {
+        (passed ? aggregatePassed : aggregateFailed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void acknowledged(long startNanos) {
+        sendAck.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.kafkaproj.service;
+
+/**
+ * Outcome of a bulk send once every record has been acknowledged or has failed.
+ */
+public record BulkSendResult(long sent, long failed, long elapsedMillis, Throwable firstFailure) {
+
+    public boolean isSuccessful() {
+        return failed == 0;
+    }
+
+    public double recordsPerSecond() {
+        return elapsedMillis == 0 ? sent : sent * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,26 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.matching.JsonMatcher;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.function.Predicate;
+
+/**
+ * One downstream record, or {@code count} of them, expected on a topic. The JSON matcher, when
+ * there is one, lets the topic's tailer index the expectation by its key field.
+ */
+public record Expectation(String topic, Predicate<ConsumerRecord<byte[], byte[]>> recordMatcher, int count,
+                          JsonMatcher jsonMatcher) {
+
+    public static Expectation of(String topic, JsonMatcher matcher) {
+        return of(topic, matcher, 1);
+    }
+
+    public static Expectation of(String topic, JsonMatcher matcher, int count) {
+        return new Expectation(topic, record -> matcher.matches(record.value()), count, matcher);
+    }
+
+    public static Expectation of(String topic, Predicate<ConsumerRecord<byte[], byte[]>> recordMatcher) {
+        return new Expectation(topic, recordMatcher, 1, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.kafkaproj.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.util.List;
+
+/**
+ * Records matched for an expectation, empty when it was not satisfied before the deadline.
+ */
+public record ExpectationResult(Expectation expectation, List<ConsumerRecord<byte[], byte[]>> records) {
+
+    public boolean isSatisfied() {
+        return records.size() >= expectation.count();
+    }
+}
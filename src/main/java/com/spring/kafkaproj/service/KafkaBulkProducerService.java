@@ -0,0 +1,86 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import com.spring.kafkaproj.metrics.TopicMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pipelines many payloads through the bulk producer, keeping a bounded number of
+ * unacknowledged records in flight, and returns once every ack has arrived.
+ */
+@Service
+@Slf4j
+public class KafkaBulkProducerService {
+
+    private final KafkaTemplate<String, byte[]> bulkKafkaTemplate;
+    private final HarnessMetrics metrics;
+
+    @Value("${test.kafka.bulk.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${test.kafka.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    public KafkaBulkProducerService(@Qualifier("bulkKafkaTemplate") KafkaTemplate<String, byte[]> bulkKafkaTemplate,
+                                    HarnessMetrics metrics) {
+        this.bulkKafkaTemplate = bulkKafkaTemplate;
+        this.metrics = metrics;
+    }
+
+    public BulkSendResult sendAll(String topic, Iterable<byte[]> payloads) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong failed = new AtomicLong();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        TopicMetrics topicMetrics = metrics.forTopic(topic);
+        long sent = 0;
+        long start = System.nanoTime();
+
+        try {
+            for (byte[] payload : payloads) {
+                inFlight.acquire();
+                long sendStart = System.nanoTime();
+                sent++;
+                try {
+                    bulkKafkaTemplate.send(topic, payload).whenComplete((result, e) -> {
+                        if (e != null) {
+                            failed.incrementAndGet();
+                            firstFailure.compareAndSet(null, e);
+                        } else {
+                            topicMetrics.acknowledged(sendStart);
+                        }
+                        inFlight.release();
+                    });
+                } catch (RuntimeException e) {
+                    // Rejected before it was handed to the producer, e.g. a record that is too large
+                    failed.incrementAndGet();
+                    firstFailure.compareAndSet(null, e);
+                    inFlight.release();
+                }
+            }
+            bulkKafkaTemplate.flush();
+
+            // Every permit back means every send has completed
+            if (!inFlight.tryAcquire(maxInFlight, sendTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Timeout while waiting for bulk send acknowledgements on topic " + topic);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during bulk send to topic " + topic, e);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        BulkSendResult result = new BulkSendResult(sent - failed.get(), failed.get(), elapsedMillis, firstFailure.get());
+        log.info("Bulk sent {} messages to topic {} in {} ms ({} failed, {} msg/s)",
+                result.sent(), topic, elapsedMillis, result.failed(), Math.round(result.recordsPerSecond()));
+        return result;
+    }
+}
@@ -1,17 +1,35 @@
 package com.spring.kafkaproj.service;
 
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.kafkaproj.aggregate.AggregateResult;
+import com.spring.kafkaproj.aggregate.RecordAggregate;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import com.spring.kafkaproj.metrics.TopicMetrics;
+import com.spring.kafkaproj.tailer.BoundedScanner;
+import com.spring.kafkaproj.tailer.OffsetResolver;
+import com.spring.kafkaproj.tailer.StartOffsets;
+import com.spring.kafkaproj.tailer.StartPosition;
+import com.spring.kafkaproj.tailer.TopicTailer;
+import com.spring.kafkaproj.tailer.TopicTailerRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.ConsumerFactory;
-import org.springframework.kafka.listener.ContainerProperties;
-import org.springframework.kafka.listener.KafkaMessageListenerContainer;
-import org.springframework.kafka.listener.MessageListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 
 @Service
@@ -19,78 +37,251 @@ import java.util.function.Predicate;
 @Slf4j
 public class KafkaConsumerService {
 
-    private final ConsumerFactory<byte[], byte[]> consumerFactory;
+    private final TopicTailerRegistry tailerRegistry;
+    private final OffsetResolver offsetResolver;
     private final ObjectMapper objectMapper;
+    private final BoundedScanner boundedScanner;
+    private final HarnessMetrics metrics;
 
     public boolean consumeAndVerifyMessage(String topic, Map<String, String> expectedValues, long timeoutSeconds) {
-        CountDownLatch latch = new CountDownLatch(1);
-
-        ContainerProperties containerProps = new ContainerProperties(topic);
-        containerProps.setMessageListener((MessageListener<byte[], byte[]>) record -> {
-            try {
-                String jsonMessage = new String(record.value());
-                log.debug("Received message from topic {}: {}", topic, jsonMessage);
+        return consumeAndVerifyMessage(topic, expectedValues, StartPosition.buffered(), timeoutSeconds);
+    }
 
-                if (matchesExpectedValues(jsonMessage, expectedValues)) {
-                    log.info("Found matching message in topic {}", topic);
-                    latch.countDown();
-                }
-            } catch (Exception e) {
-                log.error("Error processing message: {}", e.getMessage());
-            }
-        });
+    public boolean consumeAndVerifyMessage(String topic, Map<String, String> expectedValues,
+                                           StartPosition startPosition, long timeoutSeconds) {
+        JsonMatcher matcher = JsonMatcher.of(expectedValues, ValueComparator.EXACT_TEXT);
+        return verifyMessage(topic, matcher, startPosition, timeoutSeconds);
+    }
 
-        KafkaMessageListenerContainer<byte[], byte[]> container =
-                new KafkaMessageListenerContainer<>(consumerFactory, containerProps);
+    /**
+     * Waits for a record whose value satisfies the matcher. Record values are matched
+     * as raw UTF-8 bytes, never decoded into a String. On a topic with a key path the
+     * wait is indexed by the matcher's key, see {@link JsonMatcher#indexKey(String)}.
+     */
+    public boolean verifyMessage(String topic, JsonMatcher matcher, StartPosition startPosition, long timeoutSeconds) {
+        try {
+            return verifyMessageAsync(topic, matcher, startPosition, timeoutSeconds).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.error("Error waiting for message in topic {}: {}", topic, e.getMessage());
+            return false;
+        }
+    }
 
-        container.start();
+    /**
+     * Non-blocking form of {@link #verifyMessage}: no thread waits while the verification is
+     * pending, the future completes with false once the timeout has passed.
+     */
+    public CompletableFuture<Boolean> verifyMessageAsync(String topic, JsonMatcher matcher,
+                                                         StartPosition startPosition, long timeoutSeconds) {
+        long start = System.nanoTime();
+        StartOffsets startOffsets = offsetResolver.resolve(topic, startPosition);
+        TopicTailer tailer = tailerRegistry.tailerFor(topic);
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match =
+                tailer.await(recordMatcher(topic, matcher), startOffsets, 1, indexKey(tailer, matcher));
+        return withTimeout(topic, match.thenApply(records -> records.get(0)), match, start, timeoutSeconds)
+                .thenApply(Optional::isPresent);
+    }
 
+    /**
+     * Waits for every expectation at once, typically the downstream records of a single produce
+     * spread over several topics. Each record is only offered to the expectations of its own
+     * topic and all expectations share one deadline.
+     */
+    public List<ExpectationResult> verifyAll(List<Expectation> expectations, StartPosition startPosition,
+                                             long timeoutSeconds) {
         try {
-            boolean found = latch.await(timeoutSeconds, TimeUnit.SECONDS);
-            if (!found) {
-                log.warn("Timeout while waiting for matching message in topic {}", topic);
-            }
-            return found;
+            return verifyAllAsync(expectations, startPosition, timeoutSeconds).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            return false;
-        } finally {
-            container.stop();
+            throw new RuntimeException("Interrupted while waiting for " + expectations.size() + " expectations", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error waiting for " + expectations.size() + " expectations", e.getCause());
+        }
+    }
+
+    public CompletableFuture<List<ExpectationResult>> verifyAllAsync(List<Expectation> expectations,
+                                                                     StartPosition startPosition, long timeoutSeconds) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        Map<String, StartOffsets> startOffsets = new HashMap<>();
+        List<CompletableFuture<ExpectationResult>> results = new ArrayList<>(expectations.size());
+        for (Expectation expectation : expectations) {
+            String topic = expectation.topic();
+            StartOffsets offsets = startOffsets.computeIfAbsent(topic, key -> offsetResolver.resolve(key, startPosition));
+            TopicTailer tailer = tailerRegistry.tailerFor(topic);
+            CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match = tailer.await(expectation.recordMatcher(),
+                    offsets, expectation.count(), indexKey(tailer, expectation.jsonMatcher()));
+
+            TopicMetrics topicMetrics = metrics.forTopic(topic);
+            results.add(match.orTimeout(deadline - System.nanoTime(), TimeUnit.NANOSECONDS).handle((records, e) -> {
+                topicMetrics.verified(e, start);
+                if (e == null) {
+                    log.info("Found {} matching messages in topic {}", records.size(), topic);
+                    return new ExpectationResult(expectation, records);
+                }
+                if (e instanceof TimeoutException) {
+                    log.warn("Timeout while waiting for {} matching messages in topic {}", expectation.count(), topic);
+                } else if (!(e instanceof CancellationException)) {
+                    log.error("Error waiting for messages in topic {}: {}", topic, e.getMessage());
+                }
+                return new ExpectationResult(expectation, List.of());
+            }));
         }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
     }
 
-    private boolean matchesExpectedValues(String jsonMessage, Map<String, String> expectedValues) {
+    /**
+     * Streams the records accepted by the filter through the aggregate for up to {@code windowSeconds},
+     * returning as soon as the aggregate's outcome is decided. No record is kept for it.
+     */
+    public AggregateResult verifyAggregate(String topic, JsonMatcher filter, RecordAggregate aggregate,
+                                           StartPosition startPosition, long windowSeconds) {
         try {
-            for (Map.Entry<String, String> entry : expectedValues.entrySet()) {
-                String path = entry.getKey();
-                String expectedValue = entry.getValue();
-
-                // Handle null values
-                if ("null".equalsIgnoreCase(expectedValue) || "<null>".equals(expectedValue)) {
-                    Object actualValue = JsonPath.read(jsonMessage, normalizePath(path));
-                    if (actualValue != null) {
-                        log.debug("Path {} expected null but was {}", path, actualValue);
-                        return false;
+            return verifyAggregateAsync(topic, filter, aggregate, startPosition, windowSeconds).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while aggregating messages in topic " + topic, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error aggregating messages in topic " + topic, e.getCause());
+        }
+    }
+
+    public CompletableFuture<AggregateResult> verifyAggregateAsync(String topic, JsonMatcher filter,
+                                                                   RecordAggregate aggregate,
+                                                                   StartPosition startPosition, long windowSeconds) {
+        long start = System.nanoTime();
+        StartOffsets startOffsets = offsetResolver.resolve(topic, startPosition);
+        TopicTailer tailer = tailerRegistry.tailerFor(topic);
+        TopicMetrics topicMetrics = metrics.forTopic(topic);
+        return tailer.watch(recordMatcher(topic, filter), aggregate, startOffsets, indexKey(tailer, filter),
+                        Duration.ofSeconds(windowSeconds))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        return;
                     }
-                    continue;
-                }
+                    topicMetrics.aggregated(result.passed(), start);
+                    log.info("Aggregate over topic {} {} {}: {}", topic, result.passed() ? "passed" : "failed",
+                            result.early() ? "before its window ended" : "when its window ended", result.description());
+                });
+    }
 
-                // Handle non-null values
-                Object actualValue = JsonPath.read(jsonMessage, normalizePath(path));
-                if (actualValue == null || !actualValue.toString().equals(expectedValue)) {
-                    log.debug("Value mismatch at path {}: expected {} but was {}",
-                            path, expectedValue, actualValue);
-                    return false;
-                }
+    /**
+     * Verifies that no record satisfying the matcher arrived, by reading the topic from the start
+     * position up to a settled high-water mark instead of waiting out the whole timeout.
+     * {@code timeoutSeconds} only bounds how long reading that slice may take.
+     */
+    public boolean verifyNoMessage(String topic, JsonMatcher matcher, StartPosition startPosition, long timeoutSeconds) {
+        long start = System.nanoTime();
+        Optional<ConsumerRecord<byte[], byte[]>> match =
+                boundedScanner.scan(topic, startPosition, recordMatcher(topic, matcher), timeoutSeconds);
+        metrics.forTopic(topic).aggregated(match.isEmpty(), start);
+        match.ifPresentOrElse(
+                record -> log.warn("Found unexpected message in topic {} partition {} offset {}: {}",
+                        topic, record.partition(), record.offset(), decode(record.value())),
+                () -> log.info("No matching message in topic {} after {} ms", topic,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return match.isEmpty();
+    }
+
+    public boolean consumeMessage(String topic, Predicate<String> messageMatcher, long timeoutSeconds) {
+        return consumeMessage(topic, messageMatcher, StartPosition.buffered(), timeoutSeconds);
+    }
+
+    public boolean consumeMessage(String topic, Predicate<String> messageMatcher,
+                                  StartPosition startPosition, long timeoutSeconds) {
+        return awaitRecord(topic, record -> {
+            String jsonMessage = decode(record.value());
+            log.debug("Received message from topic {}: {}", topic, jsonMessage);
+            return messageMatcher.test(jsonMessage);
+        }, startPosition, timeoutSeconds).isPresent();
+    }
+
+    /**
+     * Waits for the first record on the topic accepted by the given predicate. Record-level
+     * predicates can reject on partition, offset or headers before touching the payload.
+     */
+    public Optional<ConsumerRecord<byte[], byte[]>> awaitRecord(String topic,
+                                                               Predicate<ConsumerRecord<byte[], byte[]>> recordMatcher,
+                                                               StartPosition startPosition, long timeoutSeconds) {
+        try {
+            return awaitRecordAsync(topic, recordMatcher, startPosition, timeoutSeconds).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.error("Error waiting for message in topic {}: {}", topic, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public CompletableFuture<Optional<ConsumerRecord<byte[], byte[]>>> awaitRecordAsync(
+            String topic, Predicate<ConsumerRecord<byte[], byte[]>> recordMatcher,
+            StartPosition startPosition, long timeoutSeconds) {
+        long start = System.nanoTime();
+        StartOffsets startOffsets = offsetResolver.resolve(topic, startPosition);
+        CompletableFuture<ConsumerRecord<byte[], byte[]>> match =
+                tailerRegistry.tailerFor(topic).await(recordMatcher, startOffsets);
+        return withTimeout(topic, match, match, start, timeoutSeconds);
+    }
+
+    /**
+     * Applies the timeout to {@code match}. {@code pending} is the future registered on the tailer,
+     * completing it detaches the match. {@code startNanos} is when the verification was requested.
+     */
+    private CompletableFuture<Optional<ConsumerRecord<byte[], byte[]>>> withTimeout(
+            String topic, CompletableFuture<ConsumerRecord<byte[], byte[]>> match,
+            CompletableFuture<?> pending, long startNanos, long timeoutSeconds) {
+        TopicMetrics topicMetrics = metrics.forTopic(topic);
+        return match.orTimeout(timeoutSeconds, TimeUnit.SECONDS).handle((record, e) -> {
+            pending.cancel(false);
+            topicMetrics.verified(e, startNanos);
+            if (e == null) {
+                log.info("Found matching message in topic {} partition {} offset {}",
+                        topic, record.partition(), record.offset());
+                return Optional.of(record);
             }
-            return true;
-        } catch (Exception e) {
-            log.error("Error matching values: {}", e.getMessage());
-            return false;
+            if (e instanceof TimeoutException) {
+                log.warn("Timeout while waiting for matching message in topic {}", topic);
+            } else if (!(e instanceof CancellationException)) {
+                log.error("Error waiting for message in topic {}: {}", topic, e.getMessage());
+            }
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * Captures the current end offsets of a topic. Call it before producing so the following
+     * verification only looks at records written after this point.
+     */
+    public StartPosition endPosition(String topic) {
+        return offsetResolver.endPosition(topic);
+    }
+
+    private Predicate<ConsumerRecord<byte[], byte[]>> recordMatcher(String topic, JsonMatcher matcher) {
+        return record -> {
+            if (log.isDebugEnabled()) {
+                log.debug("Received message from topic {}: {}", topic, decode(record.value()));
+            }
+            return matcher.matches(record.value());
+        };
+    }
+
+    /**
+     * The key the matcher pins on the tailer's key path. Matchers without a single exact key, such
+     * as a regex or an expected null, stay unkeyed and see every record.
+     */
+    private String indexKey(TopicTailer tailer, JsonMatcher matcher) {
+        if (matcher == null || tailer.getKeyPath() == null) {
+            return null;
         }
+        return matcher.indexKey(tailer.getKeyPath());
     }
 
-    private String normalizePath(String path) {
-        return path.startsWith("$") ? path : "$." + path;
+    private String decode(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,59 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.tailer.StartPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Request/response style verification: produce one record carrying a correlation header and
+ * wait for the downstream record that echoes it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaExchangeService {
+
+    private final KafkaProducerService producerService;
+    private final KafkaConsumerService consumerService;
+
+    @Value("${test.kafka.correlation-header:correlationId}")
+    private String correlationHeader;
+
+    public boolean sendAndAwaitDownstream(String inputTopic, String message, String outputTopic,
+                                          Map<String, String> expectedValues, long timeoutSeconds) {
+        // Capture the output position before producing so nothing older is scanned
+        StartPosition startPosition = consumerService.endPosition(outputTopic);
+
+        String correlationId = UUID.randomUUID().toString();
+        byte[] correlationBytes = correlationId.getBytes(StandardCharsets.UTF_8);
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(inputTopic, message.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(correlationHeader, correlationBytes);
+
+        SendReceipt receipt = producerService.await(inputTopic, producerService.send(record));
+        log.info("Sent message {} to topic {} partition {} offset {}, awaiting downstream on {}",
+                correlationId, inputTopic, receipt.partition(), receipt.offset(), outputTopic);
+
+        JsonMatcher matcher = JsonMatcher.of(expectedValues, ValueComparator.EXACT_TEXT);
+        return consumerService.awaitRecord(outputTopic,
+                downstream -> hasCorrelation(downstream, correlationBytes)
+                        && matcher.matches(downstream.value()),
+                startPosition, timeoutSeconds).isPresent();
+    }
+
+    private boolean hasCorrelation(ConsumerRecord<byte[], byte[]> record, byte[] correlationId) {
+        Header header = record.headers().lastHeader(correlationHeader);
+        return header != null && Arrays.equals(header.value(), correlationId);
+    }
+}
@@ -0,0 +1,139 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.load.LatencyHistogram;
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import com.spring.kafkaproj.metrics.TopicMetrics;
+import com.spring.kafkaproj.tailer.OffsetResolver;
+import com.spring.kafkaproj.template.PayloadGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Produces generated records at a target rate from several threads, each with its own producer.
+ * Scheduling is open-loop: every record has a fixed send time derived from the rate, and its
+ * latency is measured from that time, so a slow ack that holds back later sends shows up in
+ * the latency instead of silently lowering the rate.
+ */
+@Service
+@Slf4j
+public class KafkaLoadGeneratorService {
+
+    private final KafkaTemplate<String, byte[]> loadKafkaTemplate;
+    private final OffsetResolver offsetResolver;
+    private final HarnessMetrics metrics;
+
+    @Value("${test.kafka.load.threads:4}")
+    private int threads;
+
+    @Value("${test.kafka.bulk.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${test.kafka.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    public KafkaLoadGeneratorService(@Qualifier("loadKafkaTemplate") KafkaTemplate<String, byte[]> loadKafkaTemplate,
+                                     OffsetResolver offsetResolver, HarnessMetrics metrics) {
+        this.loadKafkaTemplate = loadKafkaTemplate;
+        this.offsetResolver = offsetResolver;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sends {@code count} records rendered by the generator, spread evenly over the topic's
+     * partitions, at {@code ratePerSecond} or as fast as acks allow when it is 0. Returns once
+     * every record has been acknowledged or has failed.
+     */
+    public LoadResult generate(String topic, PayloadGenerator generator, long count, double ratePerSecond) {
+        int partitions = offsetResolver.partitionsFor(topic).size();
+        long intervalNanos = ratePerSecond > 0 ? Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        TopicMetrics topicMetrics = metrics.forTopic(topic);
+        LatencyHistogram latency = new LatencyHistogram();
+        LatencyHistogram ack = new LatencyHistogram();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            long first = worker;
+            workers.add(Thread.ofPlatform().name("load-" + topic + "-" + worker).start(() -> {
+                try {
+                    // Records are dealt round-robin, worker n sends sequence numbers n, n + threads, ...
+                    for (long sequence = first; sequence < count; sequence += threads) {
+                        long scheduled = intervalNanos > 0 ? start + sequence * intervalNanos : System.nanoTime();
+                        long delay;
+                        while ((delay = scheduled - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(delay);
+                        }
+                        byte[] payload = generator.render(sequence);
+                        inFlight.acquire();
+                        long sendStart = System.nanoTime();
+                        try {
+                            loadKafkaTemplate.send(topic, (int) (sequence % partitions), null, payload).whenComplete((result, e) -> {
+                                if (e != null) {
+                                    firstFailure.compareAndSet(null, e);
+                                } else {
+                                    long now = System.nanoTime();
+                                    latency.record(now - scheduled);
+                                    ack.record(now - sendStart);
+                                    topicMetrics.acknowledged(sendStart);
+                                }
+                                inFlight.release();
+                            });
+                        } catch (RuntimeException e) {
+                            // Never handed to the producer, so no callback will release its permit
+                            inFlight.release();
+                            throw e;
+                        }
+                    }
+                    loadKafkaTemplate.flush();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    firstFailure.compareAndSet(null, e);
+                } catch (RuntimeException e) {
+                    log.error("Load generation on topic {} stopped: {}", topic, e.getMessage());
+                    firstFailure.compareAndSet(null, e);
+                } finally {
+                    loadKafkaTemplate.getProducerFactory().closeThreadBoundProducer();
+                }
+            }));
+        }
+
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            // Every permit back means every send has completed
+            if (!inFlight.tryAcquire(maxInFlight, sendTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Timeout while waiting for load acknowledgements on topic " + topic);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(Thread::interrupt);
+            throw new RuntimeException("Interrupted during load generation on topic " + topic, e);
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long acked = ack.count();
+        // Records never sent because a worker stopped count as failed as well
+        LoadResult result = new LoadResult(acked, count - acked, elapsedMillis, ratePerSecond,
+                latency.snapshot(), ack.snapshot(), firstFailure.get());
+        log.info("Generated {} messages from {} to topic {} in {} ms ({} failed, {} msg/s, target {}), "
+                        + "latency p50 {} ms p99 {} ms p99.9 {} ms max {} ms, ack p50 {} ms p99 {} ms",
+                result.sent(), generator.getName(), topic, elapsedMillis, result.failed(),
+                Math.round(result.recordsPerSecond()), ratePerSecond > 0 ? Math.round(ratePerSecond) : "max",
+                result.latency().p50(), result.latency().p99(), result.latency().p999(), result.latency().max(),
+                result.ack().p50(), result.ack().p99());
+        return result;
+    }
+}
@@ -1,19 +1,76 @@
 package com.spring.kafkaproj.service;
 
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import com.spring.kafkaproj.metrics.TopicMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final HarnessMetrics metrics;
+
+    @Value("${test.kafka.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    /**
+     * Sends the message and waits for the broker acknowledgement.
+     */
+    public SendReceipt sendMessage(String topic, String message) {
+        return sendMessage(topic, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends an already serialized UTF-8 JSON payload and waits for the broker acknowledgement.
+     */
+    public SendReceipt sendMessage(String topic, byte[] payload) {
+        return await(topic, sendMessageAsync(topic, payload));
+    }
+
+    public CompletableFuture<SendReceipt> sendMessageAsync(String topic, byte[] payload) {
+        return send(new ProducerRecord<>(topic, payload));
+    }
+
+    public CompletableFuture<SendReceipt> send(ProducerRecord<String, byte[]> record) {
+        log.debug("Sending message to topic: {}", record.topic());
+        TopicMetrics topicMetrics = metrics.forTopic(record.topic());
+        long start = System.nanoTime();
+        return kafkaTemplate.send(record)
+                .thenApply(result -> SendReceipt.of(result.getRecordMetadata()))
+                .whenComplete((receipt, e) -> {
+                    if (e != null) {
+                        log.error("Failed to send message to topic {}: {}", record.topic(), e.getMessage());
+                    } else {
+                        topicMetrics.acknowledged(start);
+                        log.debug("Message sent to topic {} partition {} offset {}",
+                                receipt.topic(), receipt.partition(), receipt.offset());
+                    }
+                });
+    }
 
-    public void sendMessage(String topic, String message) {
-        log.debug("Sending message to topic: {}", topic);
-        kafkaTemplate.send(topic, message);
+    public SendReceipt await(String topic, CompletableFuture<SendReceipt> send) {
+        try {
+            return send.get(sendTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while sending message to topic " + topic, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to send message to topic " + topic, e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timeout while sending message to topic " + topic, e);
+        }
     }
 }
@@ -0,0 +1,20 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.load.LatencyHistogram;
+
+/**
+ * Outcome of a generated load run. {@code latency} runs from each record's scheduled send time to
+ * its ack, so time spent behind schedule is counted; {@code ack} runs from the actual send call.
+ * {@code targetRate} is 0 when the run sent as fast as it could.
+ */
+public record LoadResult(long sent, long failed, long elapsedMillis, double targetRate,
+                         LatencyHistogram.Snapshot latency, LatencyHistogram.Snapshot ack, Throwable firstFailure) {
+
+    public boolean isSuccessful() {
+        return failed == 0;
+    }
+
+    public double recordsPerSecond() {
+        return elapsedMillis == 0 ? sent : sent * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,13 @@
+package com.spring.kafkaproj.service;
+
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * Where an acknowledged record landed.
+ */
+public record SendReceipt(String topic, int partition, long offset, long timestamp) {
+
+    static SendReceipt of(RecordMetadata metadata) {
+        return new SendReceipt(metadata.topic(), metadata.partition(), metadata.offset(), metadata.timestamp());
+    }
+}
@@ -0,0 +1,150 @@
+package com.spring.kafkaproj.tailer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Reads a bounded slice of a topic to prove a record did not arrive. The slice starts at the
+ * verification's start position and ends at the end offsets read once the settle time has
+ * passed, or earlier once the topic has been idle on every partition for the idle threshold
+ * with nothing left to read. Progress is measured with the consumer's own positions, so
+ * transaction markers and compacted gaps never keep a scan from finishing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BoundedScanner {
+
+    private final TopicTailerRegistry tailerRegistry;
+    private final OffsetResolver offsetResolver;
+
+    @Value("${test.kafka.negative.settle-ms:3000}")
+    private long settleMs;
+
+    @Value("${test.kafka.negative.idle-ms:1000}")
+    private long idleMs;
+
+    @Value("${test.kafka.poll-interval-ms:50}")
+    private long pollIntervalMs;
+
+    /**
+     * Returns the first record of the slice accepted by the predicate, or empty once the whole
+     * slice was read without one. Throws when the slice could not be read within the timeout.
+     */
+    public Optional<ConsumerRecord<byte[], byte[]>> scan(String topic, StartPosition startPosition,
+                                                         Predicate<ConsumerRecord<byte[], byte[]>> predicate,
+                                                         long timeoutSeconds) {
+        long start = System.nanoTime();
+        long settleAt = start + TimeUnit.MILLISECONDS.toNanos(settleMs);
+        long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+
+        List<TopicPartition> partitions = offsetResolver.partitionsFor(topic);
+        Map<TopicPartition, Long> endAtStart = new HashMap<>(offsetResolver.endOffsets(partitions));
+        Map<TopicPartition, Long> startOffsets = startOffsets(topic, startPosition, partitions, endAtStart);
+        if (startOffsets.isEmpty()) {
+            return Optional.empty();
+        }
+        endAtStart.keySet().retainAll(startOffsets.keySet());
+
+        long scanned = 0;
+        try (Consumer<byte[], byte[]> consumer = tailerRegistry.assignOnlyConsumerFactory().createConsumer()) {
+            consumer.assign(startOffsets.keySet());
+            startOffsets.forEach(consumer::seek);
+
+            Map<TopicPartition, Long> highWaterMark = null;
+            long lastRecordAt = System.nanoTime();
+            while (true) {
+                for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofMillis(pollIntervalMs))) {
+                    lastRecordAt = System.nanoTime();
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (highWaterMark != null && record.offset() >= highWaterMark.get(partition)) {
+                        continue;
+                    }
+                    scanned++;
+                    if (test(predicate, record)) {
+                        log.debug("Scan of topic {} found a match after {} records", topic, scanned);
+                        return Optional.of(record);
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (highWaterMark == null && now - settleAt >= 0) {
+                    highWaterMark = offsetResolver.endOffsets(startOffsets.keySet());
+                    log.debug("Scan of topic {} settled, reading up to {}", topic, highWaterMark);
+                }
+                if (highWaterMark != null && reached(consumer, highWaterMark)) {
+                    break;
+                }
+                if (highWaterMark == null && idleMs > 0 && now - lastRecordAt >= TimeUnit.MILLISECONDS.toNanos(idleMs)
+                        && reached(consumer, endAtStart)) {
+                    if (reached(consumer, offsetResolver.endOffsets(startOffsets.keySet()))) {
+                        log.debug("Topic {} idle for {} ms with nothing left to read", topic, idleMs);
+                        break;
+                    }
+                    // Records arrived but were not fetched yet, look again after the next idle period
+                    lastRecordAt = now;
+                }
+                if (now - deadline >= 0) {
+                    throw new RuntimeException("Could not read topic " + topic + " up to "
+                            + (highWaterMark != null ? highWaterMark : endAtStart) + " within " + timeoutSeconds + " seconds");
+                }
+            }
+        }
+        log.debug("Scan of topic {} read {} records without a match in {} ms", topic, scanned,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return Optional.empty();
+    }
+
+    /**
+     * Unbounded partitions start at the end offsets read when the scan started, or at their
+     * beginning when the position names other partitions explicitly.
+     */
+    private Map<TopicPartition, Long> startOffsets(String topic, StartPosition startPosition,
+                                                   List<TopicPartition> partitions,
+                                                   Map<TopicPartition, Long> endAtStart) {
+        StartOffsets resolved = offsetResolver.resolve(topic, startPosition);
+        Map<TopicPartition, Long> beginning = startPosition.kind() == StartPosition.Kind.OFFSETS
+                ? offsetResolver.beginningOffsets(partitions) : Map.of();
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            Long lowerBound = resolved.lowerBounds().get(partition.partition());
+            if (lowerBound != null) {
+                offsets.put(partition, lowerBound);
+            } else if (resolved.accepts(partition.partition(), Long.MAX_VALUE)) {
+                offsets.put(partition, beginning.getOrDefault(partition, endAtStart.get(partition)));
+            }
+        }
+        return offsets;
+    }
+
+    private boolean reached(Consumer<byte[], byte[]> consumer, Map<TopicPartition, Long> offsets) {
+        for (Map.Entry<TopicPartition, Long> entry : offsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean test(Predicate<ConsumerRecord<byte[], byte[]>> predicate, ConsumerRecord<byte[], byte[]> record) {
+        try {
+            return predicate.test(record);
+        } catch (Exception e) {
+            log.error("Error processing message from topic {}: {}", record.topic(), e.getMessage());
+            return false;
+        }
+    }
+}
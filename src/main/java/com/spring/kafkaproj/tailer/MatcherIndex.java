@@ -0,0 +1,63 @@
+package com.spring.kafkaproj.tailer;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Waiting matchers of a topic, hashed by the key value they expect. A record is only offered
+ * to the matchers registered under its own key plus the ones that could not be keyed, so the
+ * dispatch cost does not grow with the number of keyed matchers. Not thread-safe.
+ */
+final class MatcherIndex<M> {
+
+    private final Map<String, Set<M>> byKey = new HashMap<>();
+    private final Set<M> unkeyed = new LinkedHashSet<>();
+
+    /**
+     * Registers a matcher under the key value it expects, or as unkeyed when {@code key} is null.
+     */
+    void add(M matcher, String key) {
+        if (key == null) {
+            unkeyed.add(matcher);
+        } else {
+            byKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(matcher);
+        }
+    }
+
+    void remove(M matcher, String key) {
+        if (key == null) {
+            unkeyed.remove(matcher);
+            return;
+        }
+        Set<M> matchers = byKey.get(key);
+        if (matchers != null && matchers.remove(matcher) && matchers.isEmpty()) {
+            byKey.remove(key);
+        }
+    }
+
+    /**
+     * Visits the candidates for a record with the given key and removes the ones for which
+     * the filter returns true.
+     */
+    void removeCandidatesIf(String key, Predicate<M> filter) {
+        if (key != null) {
+            Set<M> matchers = byKey.get(key);
+            if (matchers != null) {
+                matchers.removeIf(filter);
+                if (matchers.isEmpty()) {
+                    byKey.remove(key);
+                }
+            }
+        }
+        unkeyed.removeIf(filter);
+    }
+
+    void forEach(Consumer<M> action) {
+        byKey.values().forEach(matchers -> matchers.forEach(action));
+        unkeyed.forEach(action);
+    }
+}
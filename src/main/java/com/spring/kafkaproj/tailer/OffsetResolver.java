@@ -0,0 +1,172 @@
+package com.spring.kafkaproj.tailer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Looks up partition offsets with a small pool of metadata-only consumers that never subscribe.
+ * Concurrent scenarios borrow a consumer each instead of queueing on a single one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OffsetResolver implements DisposableBean {
+
+    private final ConsumerFactory<byte[], byte[]> consumerFactory;
+    private final BlockingQueue<Consumer<byte[], byte[]>> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    @Value("${test.kafka.offset-resolver.pool-size:4}")
+    private int poolSize;
+
+    public StartOffsets resolve(String topic, StartPosition position) {
+        StartOffsets resolved = switch (position.kind()) {
+            case BUFFERED -> StartOffsets.ANY;
+            case BEGINNING -> new StartOffsets(byPartition(beginningOffsets(partitionsFor(topic))), true);
+            case TIMESTAMP -> new StartOffsets(offsetsForTime(topic, position.timestamp()), true);
+            case OFFSETS -> new StartOffsets(position.offsets(), true);
+            case EXACT -> new StartOffsets(position.offsets(), false);
+        };
+        log.debug("Resolved start position {} on topic {} to {}", position, topic, resolved);
+        return resolved;
+    }
+
+    /**
+     * Captures the current end offsets of the topic, e.g. right before producing the record
+     * whose downstream effect is going to be verified.
+     */
+    public StartPosition endPosition(String topic) {
+        return StartPosition.fromOffsets(byPartition(endOffsets(partitionsFor(topic))));
+    }
+
+    public List<TopicPartition> partitionsFor(String topic) {
+        return withConsumer(consumer -> partitionsFor(consumer, topic));
+    }
+
+    public Map<TopicPartition, Long> beginningOffsets(Collection<TopicPartition> partitions) {
+        return withConsumer(consumer -> consumer.beginningOffsets(partitions));
+    }
+
+    public Map<TopicPartition, Long> endOffsets(Collection<TopicPartition> partitions) {
+        return withConsumer(consumer -> consumer.endOffsets(partitions));
+    }
+
+    /**
+     * Opens the pooled consumers and fetches the metadata and end offsets of the given topics,
+     * so the first verifications find connections and partition leaders already in place.
+     */
+    public void warmUp(Collection<String> topics) {
+        List<Consumer<byte[], byte[]>> borrowed = new ArrayList<>();
+        try {
+            while (borrowed.size() < poolSize) {
+                borrowed.add(borrow());
+            }
+            for (Consumer<byte[], byte[]> consumer : borrowed) {
+                for (String topic : topics) {
+                    consumer.endOffsets(partitionsFor(consumer, topic));
+                }
+            }
+        } finally {
+            borrowed.forEach(this::release);
+        }
+    }
+
+    private Map<Integer, Long> offsetsForTime(String topic, long timestamp) {
+        return withConsumer(consumer -> {
+            List<TopicPartition> partitions = partitionsFor(consumer, topic);
+            Map<TopicPartition, Long> query = new HashMap<>();
+            partitions.forEach(partition -> query.put(partition, timestamp));
+
+            Map<TopicPartition, OffsetAndTimestamp> found = consumer.offsetsForTimes(query);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            Map<Integer, Long> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                OffsetAndTimestamp offset = found.get(partition);
+                // No record at or after the timestamp yet: only new records qualify
+                offsets.put(partition.partition(), offset != null ? offset.offset() : endOffsets.get(partition));
+            }
+            return offsets;
+        });
+    }
+
+    private List<TopicPartition> partitionsFor(Consumer<byte[], byte[]> consumer, String topic) {
+        List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+        return partitions.stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Long> byPartition(Map<TopicPartition, Long> offsets) {
+        Map<Integer, Long> result = new HashMap<>();
+        offsets.forEach((partition, offset) -> result.put(partition.partition(), offset));
+        return result;
+    }
+
+    private <T> T withConsumer(Function<Consumer<byte[], byte[]>, T> lookup) {
+        Consumer<byte[], byte[]> consumer = borrow();
+        try {
+            return lookup.apply(consumer);
+        } finally {
+            release(consumer);
+        }
+    }
+
+    private Consumer<byte[], byte[]> borrow() {
+        Consumer<byte[], byte[]> consumer = idle.poll();
+        if (consumer != null) {
+            return consumer;
+        }
+        if (created.incrementAndGet() <= poolSize) {
+            try {
+                return consumerFactory.createConsumer();
+            } catch (RuntimeException e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        created.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an offset lookup consumer", e);
+        }
+    }
+
+    private void release(Consumer<byte[], byte[]> consumer) {
+        if (closed) {
+            consumer.close();
+        } else {
+            idle.add(consumer);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        Consumer<byte[], byte[]> consumer;
+        while ((consumer = idle.poll()) != null) {
+            consumer.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.spring.kafkaproj.tailer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.record.TimestampType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Recently consumed records of one topic, bounded by count, bytes and age. Records are evicted
+ * oldest first: the topic is append-only and lookups never make an old record more relevant, so
+ * arrival order is also least-recently-used order. Records added with a key are also indexed by
+ * it, so a keyed lookup only visits the records with that key. Not thread-safe.
+ */
+final class RecordCache {
+
+    // Rough per-entry cost of the entry object, its deque slot and the headers reference
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+    private static final Deque<CachedRecord> EMPTY = new ArrayDeque<>(0);
+
+    private final String topic;
+    private final int maxRecords;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final Deque<CachedRecord> records;
+    // Same records grouped by key, each group in arrival order
+    private final Map<String, Deque<CachedRecord>> byKey = new HashMap<>();
+    // Per partition: lowest offset from which every record has been seen and is still cached
+    private final Map<Integer, Long> cachedFrom = new HashMap<>();
+    private long bytes;
+
+    RecordCache(String topic, int maxRecords, long maxBytes, long maxAgeMillis) {
+        this.topic = topic;
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.records = new ArrayDeque<>(Math.min(maxRecords, 1024));
+    }
+
+    /**
+     * Caches the record, indexed under {@code key} unless it is null.
+     */
+    void add(ConsumerRecord<byte[], byte[]> record, String key) {
+        CachedRecord cached = CachedRecord.of(record, key, System.currentTimeMillis());
+        records.addLast(cached);
+        if (key != null) {
+            byKey.computeIfAbsent(key, k -> new ArrayDeque<>(2)).addLast(cached);
+        }
+        bytes += cached.size();
+        while (records.size() > maxRecords || (bytes > maxBytes && records.size() > 1)) {
+            evictFirst();
+        }
+    }
+
+    /**
+     * Offers cached records to the visitor in arrival order, after dropping expired records, until
+     * the visitor returns true. Returns whether it did. A non-null key restricts the visit to the
+     * records cached under that key.
+     */
+    boolean anyMatch(String key, Predicate<ConsumerRecord<byte[], byte[]>> visitor) {
+        evictExpired();
+        Iterable<CachedRecord> candidates = key == null ? records : byKey.getOrDefault(key, EMPTY);
+        for (CachedRecord cached : candidates) {
+            if (visitor.test(cached.toConsumerRecord(topic))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lowest offset of the partition from which the cache holds every record, or null when
+     * nothing was consumed from the partition yet.
+     */
+    Long cachedFrom(int partition) {
+        return cachedFrom.get(partition);
+    }
+
+    /**
+     * Records that the partition continues at {@code offset} with nothing cached before it.
+     */
+    void restartAt(int partition, long offset) {
+        cachedFrom.put(partition, offset);
+    }
+
+    private void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - maxAgeMillis;
+        while (!records.isEmpty() && records.peekFirst().cachedAt() < expiredBefore) {
+            evictFirst();
+        }
+    }
+
+    private void evictFirst() {
+        CachedRecord evicted = records.pollFirst();
+        bytes -= evicted.size();
+        if (evicted.key() != null) {
+            // Eviction is oldest first, so the evicted record heads its key's group as well
+            Deque<CachedRecord> group = byKey.get(evicted.key());
+            group.pollFirst();
+            if (group.isEmpty()) {
+                byKey.remove(evicted.key());
+            }
+        }
+        cachedFrom.merge(evicted.partition(), evicted.offset() + 1, Math::max);
+    }
+
+    /**
+     * The parts of a record verifications look at. Header objects are shared with the original
+     * record, record key and value are the fetched byte arrays. {@code key} is the index key.
+     */
+    private record CachedRecord(int partition, long offset, long timestamp, TimestampType timestampType,
+                                byte[] recordKey, byte[] value, Headers headers, String key, long cachedAt,
+                                long size) {
+
+        static CachedRecord of(ConsumerRecord<byte[], byte[]> record, String key, long cachedAt) {
+            long size = ENTRY_OVERHEAD_BYTES;
+            size += record.key() == null ? 0 : record.key().length;
+            size += record.value() == null ? 0 : record.value().length;
+            for (Header header : record.headers()) {
+                size += header.key().length() + (header.value() == null ? 0 : header.value().length);
+            }
+            return new CachedRecord(record.partition(), record.offset(), record.timestamp(), record.timestampType(),
+                    record.key(), record.value(), record.headers(), key, cachedAt, size);
+        }
+
+        ConsumerRecord<byte[], byte[]> toConsumerRecord(String topic) {
+            return new ConsumerRecord<>(topic, partition, offset, timestamp, timestampType,
+                    recordKey == null ? ConsumerRecord.NULL_SIZE : recordKey.length,
+                    value == null ? ConsumerRecord.NULL_SIZE : value.length,
+                    recordKey, value, headers, Optional.empty());
+        }
+    }
+}
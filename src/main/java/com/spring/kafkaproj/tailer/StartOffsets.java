@@ -0,0 +1,33 @@
+package com.spring.kafkaproj.tailer;
+
+import java.util.Map;
+
+/**
+ * A {@link StartPosition} resolved to the lowest offset a verification accepts on each partition.
+ */
+public final class StartOffsets {
+
+    static final StartOffsets ANY = new StartOffsets(Map.of(), true);
+
+    private final Map<Integer, Long> lowerBounds;
+    private final boolean otherPartitions;
+
+    StartOffsets(Map<Integer, Long> lowerBounds, boolean otherPartitions) {
+        this.lowerBounds = Map.copyOf(lowerBounds);
+        this.otherPartitions = otherPartitions;
+    }
+
+    public boolean accepts(int partition, long offset) {
+        Long lowerBound = lowerBounds.get(partition);
+        return lowerBound == null ? otherPartitions : offset >= lowerBound;
+    }
+
+    Map<Integer, Long> lowerBounds() {
+        return lowerBounds;
+    }
+
+    @Override
+    public String toString() {
+        return lowerBounds.isEmpty() && otherPartitions ? "any" : lowerBounds.toString();
+    }
+}
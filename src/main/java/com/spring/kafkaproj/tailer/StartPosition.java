@@ -0,0 +1,82 @@
+package com.spring.kafkaproj.tailer;
+
+import java.util.Map;
+
+/**
+ * Where a verification starts looking on its topic. Positions are resolved to concrete
+ * per-partition offsets by {@link OffsetResolver} when the verification is registered.
+ */
+public final class StartPosition {
+
+    enum Kind { BUFFERED, BEGINNING, TIMESTAMP, OFFSETS, EXACT }
+
+    private static final StartPosition BUFFERED = new StartPosition(Kind.BUFFERED, 0L, Map.of());
+    private static final StartPosition BEGINNING = new StartPosition(Kind.BEGINNING, 0L, Map.of());
+
+    private final Kind kind;
+    private final long timestamp;
+    private final Map<Integer, Long> offsets;
+
+    private StartPosition(Kind kind, long timestamp, Map<Integer, Long> offsets) {
+        this.kind = kind;
+        this.timestamp = timestamp;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Any record the tailer still buffers or receives from now on. No history is replayed.
+     */
+    public static StartPosition buffered() {
+        return BUFFERED;
+    }
+
+    /**
+     * The start of every partition. Replays the whole topic and should be the exception.
+     */
+    public static StartPosition beginning() {
+        return BEGINNING;
+    }
+
+    /**
+     * Records whose timestamp is at or after the given epoch millis, located with offsetsForTimes.
+     */
+    public static StartPosition fromTimestamp(long timestamp) {
+        return new StartPosition(Kind.TIMESTAMP, timestamp, Map.of());
+    }
+
+    /**
+     * Records at or after the given offset on each partition, typically the end offsets captured
+     * before producing. Partitions missing from the map are read from their start.
+     */
+    public static StartPosition fromOffsets(Map<Integer, Long> offsets) {
+        return new StartPosition(Kind.OFFSETS, 0L, Map.copyOf(offsets));
+    }
+
+    /**
+     * Records on a single partition at or after the given offset, e.g. the position returned by a send.
+     */
+    public static StartPosition exact(int partition, long offset) {
+        return new StartPosition(Kind.EXACT, 0L, Map.of(partition, offset));
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    long timestamp() {
+        return timestamp;
+    }
+
+    Map<Integer, Long> offsets() {
+        return offsets;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case BUFFERED, BEGINNING -> kind.name().toLowerCase();
+            case TIMESTAMP -> "timestamp " + timestamp;
+            case OFFSETS, EXACT -> kind.name().toLowerCase() + " " + offsets;
+        };
+    }
+}
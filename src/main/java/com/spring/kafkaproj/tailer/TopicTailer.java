@@ -0,0 +1,491 @@
+package com.spring.kafkaproj.tailer;
+
+import com.spring.kafkaproj.aggregate.AggregateResult;
+import com.spring.kafkaproj.aggregate.Outcome;
+import com.spring.kafkaproj.aggregate.RecordAggregate;
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import com.spring.kafkaproj.metrics.TopicMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.TopicPartitionOffset;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Long-lived consumer for a single topic. Every record is kept in a bounded
+ * in-memory cache and offered to the verifications currently waiting on the topic.
+ */
+@Slf4j
+public class TopicTailer {
+
+    public enum InitialPosition { LATEST, EARLIEST, COMMITTED }
+
+    /**
+     * MANUAL assigns every partition directly with no consumer group and no commits, GROUP
+     * subscribes through group coordination. A topic that has no partitions yet is always
+     * subscribed to, manual assignment needs its partitions up front.
+     */
+    public enum Assignment { MANUAL, GROUP }
+
+    private final String topic;
+    private final OffsetResolver offsetResolver;
+    private final InitialPosition initialPosition;
+    private final RecordCache cache;
+    // Extracts the index key of each record, null when the topic has no key path
+    private final JsonKeyExtractor keyExtractor;
+    private final MatcherIndex<Pending> pending = new MatcherIndex<>();
+    // Per partition: offset after the newest record seen, anything below is a replay after a seek
+    private final Map<Integer, Long> nextOffset = new HashMap<>();
+    private final KafkaMessageListenerContainer<byte[], byte[]> container;
+    private final TopicMetrics metrics;
+    private final CompletableFuture<Void> assigned = new CompletableFuture<>();
+    private long startNanos;
+    private boolean consumedAny;
+    private volatile ConsumerSeekAware.ConsumerSeekCallback seekCallback;
+
+    /**
+     * Creates a tailer that subscribes with the given group id, or that is manually
+     * assigned the given partitions when {@code partitions} is not null.
+     */
+    TopicTailer(String topic, String groupId, List<TopicPartition> partitions,
+                ConsumerFactory<byte[], byte[]> consumerFactory, AsyncTaskExecutor taskExecutor, RecordCache cache,
+                OffsetResolver offsetResolver, InitialPosition initialPosition, JsonKeyExtractor keyExtractor,
+                TopicMetrics metrics) {
+        this.topic = topic;
+        this.metrics = metrics;
+        this.keyExtractor = keyExtractor;
+        this.offsetResolver = offsetResolver;
+        this.initialPosition = initialPosition;
+        this.cache = cache;
+
+        ContainerProperties containerProps = partitions == null
+                ? new ContainerProperties(topic)
+                : new ContainerProperties(partitions.stream()
+                        .map(partition -> new TopicPartitionOffset(partition.topic(), partition.partition()))
+                        .toArray(TopicPartitionOffset[]::new));
+        containerProps.setMessageListener(new TailerListener());
+        containerProps.setGroupId(groupId);
+        containerProps.setClientId("tailer-" + topic);
+        containerProps.setListenerTaskExecutor(taskExecutor);
+        this.container = new KafkaMessageListenerContainer<>(consumerFactory, containerProps);
+        this.container.setBeanName("tailer-" + topic);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Path of the field pending matches can be indexed by, or null when the topic is not indexed.
+     */
+    public String getKeyPath() {
+        return keyExtractor == null ? null : keyExtractor.getPath();
+    }
+
+    /**
+     * Completes once the tailer has been assigned its partitions and positioned on them.
+     */
+    public CompletableFuture<Void> assigned() {
+        return assigned.copy();
+    }
+
+    void start() {
+        log.info("Starting tailer for topic {} from {} offsets", topic, initialPosition);
+        synchronized (this) {
+            startNanos = System.nanoTime();
+        }
+        container.start();
+    }
+
+    void stop() {
+        log.info("Stopping tailer for topic {}", topic);
+        container.stop();
+    }
+
+    /**
+     * Registers a predicate against the topic. Cached records are checked first,
+     * so a record that arrived before the call still completes the returned future.
+     * Cancelling the future detaches the predicate.
+     */
+    public CompletableFuture<ConsumerRecord<byte[], byte[]>> await(Predicate<ConsumerRecord<byte[], byte[]>> predicate) {
+        return await(predicate, StartOffsets.ANY);
+    }
+
+    /**
+     * Same as {@link #await(Predicate)}, ignoring records below the given start offsets. When a
+     * start offset is older than what the tailer still holds, the partition is rewound to it.
+     */
+    public CompletableFuture<ConsumerRecord<byte[], byte[]>> await(Predicate<ConsumerRecord<byte[], byte[]>> predicate,
+                                                                  StartOffsets startOffsets) {
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> records = await(predicate, startOffsets, 1);
+        CompletableFuture<ConsumerRecord<byte[], byte[]>> first = records.thenApply(matched -> matched.get(0));
+        // Completing the returned future early (timeout or cancel) detaches the match as well
+        first.whenComplete((record, e) -> records.cancel(false));
+        return first;
+    }
+
+    /**
+     * Waits for {@code count} distinct records accepted by the predicate, in the order they
+     * were seen. Cancelling the future detaches the predicate.
+     */
+    public CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> await(Predicate<ConsumerRecord<byte[], byte[]>> predicate,
+                                                                        StartOffsets startOffsets, int count) {
+        return await(predicate, startOffsets, count, null);
+    }
+
+    /**
+     * Same as {@link #await(Predicate, StartOffsets, int)} for a predicate that can only accept
+     * records whose field at {@link #getKeyPath()} has the text {@code key}. Live records are then
+     * only offered to it when their key matches. A null key means the predicate is not keyed.
+     */
+    public CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> await(Predicate<ConsumerRecord<byte[], byte[]>> predicate,
+                                                                        StartOffsets startOffsets, int count, String key) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Expected record count must be at least 1, got " + count);
+        }
+        PendingMatch match = new PendingMatch(predicate, startOffsets, count, keyExtractor == null ? null : key);
+        Map<Integer, Long> rewinds = new HashMap<>();
+        synchronized (this) {
+            if (cache.anyMatch(match.key, match::offer)) {
+                metrics.scanned(match.scanned);
+                match.complete();
+                return match.future;
+            }
+            pending.add(match, match.key);
+
+            startOffsets.lowerBounds().forEach((partition, offset) -> {
+                Long from = cache.cachedFrom(partition);
+                if (from != null && offset < from) {
+                    rewinds.put(partition, offset);
+                }
+            });
+        }
+
+        // Timed out or cancelled matches leave the index right away instead of on their key's next record
+        match.future.whenComplete((records, e) -> detach(match));
+        rewind(rewinds);
+        return match.future;
+    }
+
+    /**
+     * Folds every record accepted by the filter into the aggregate until it reports an outcome or
+     * the window ends, whichever comes first. Each record is folded in at most once, also across
+     * rewinds, and no record is kept for it. The key restricts live records as in
+     * {@link #await(Predicate, StartOffsets, int, String)}. Cancelling the future detaches the aggregate.
+     */
+    public CompletableFuture<AggregateResult> watch(Predicate<ConsumerRecord<byte[], byte[]>> filter,
+                                                    RecordAggregate aggregate, StartOffsets startOffsets,
+                                                    String key, Duration window) {
+        PendingAggregate watch = new PendingAggregate(filter, aggregate, startOffsets, keyExtractor == null ? null : key);
+        Map<Integer, Long> rewinds = new HashMap<>();
+        synchronized (this) {
+            startOffsets.lowerBounds().forEach((partition, offset) -> {
+                Long from = cache.cachedFrom(partition);
+                if (from != null && offset < from) {
+                    rewinds.put(partition, offset);
+                    watch.replays.put(partition, new long[]{offset, from});
+                }
+            });
+            if (cache.anyMatch(watch.key, watch::offer)) {
+                metrics.scanned(watch.scanned);
+                watch.complete();
+                return watch.future;
+            }
+            pending.add(watch, watch.key);
+        }
+
+        watch.future.whenComplete((result, e) -> detach(watch));
+        CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS).execute(() -> closeWindow(watch));
+        rewind(rewinds);
+        return watch.future;
+    }
+
+    private void closeWindow(PendingAggregate watch) {
+        synchronized (this) {
+            if (!watch.close()) {
+                return;
+            }
+            pending.remove(watch, watch.key);
+        }
+        watch.complete();
+    }
+
+    private synchronized void detach(Pending match) {
+        pending.remove(match, match.key);
+        metrics.scanned(match.scanned);
+    }
+
+    private void rewind(Map<Integer, Long> rewinds) {
+        ConsumerSeekAware.ConsumerSeekCallback callback = seekCallback;
+        if (callback != null) {
+            rewinds.forEach((partition, offset) -> {
+                log.debug("Rewinding tailer for topic {} partition {} to offset {}", topic, partition, offset);
+                callback.seek(topic, partition, offset);
+            });
+        }
+    }
+
+    void onRecord(ConsumerRecord<byte[], byte[]> record) {
+        // The key is extracted once per record, outside the lock, and serves both the cache and dispatch
+        String key = keyExtractor == null ? null : keyExtractor.extract(record.value());
+        List<Pending> matched = new ArrayList<>();
+        metrics.consumed(Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize()));
+        synchronized (this) {
+            if (!consumedAny) {
+                consumedAny = true;
+                metrics.firstRecord(startNanos);
+            }
+            long next = nextOffset.getOrDefault(record.partition(), Long.MIN_VALUE);
+            if (record.offset() >= next) {
+                append(record, key);
+            }
+
+            pending.removeCandidatesIf(key, match -> {
+                if (match.isDone()) {
+                    return true;
+                }
+                if (match.offer(record)) {
+                    matched.add(match);
+                    return true;
+                }
+                return false;
+            });
+        }
+        // Complete outside the lock so dependent stages never run while holding it
+        matched.forEach(Pending::complete);
+    }
+
+    private void append(ConsumerRecord<byte[], byte[]> record, String key) {
+        cache.add(record, key);
+        nextOffset.put(record.partition(), record.offset() + 1);
+    }
+
+    private void onAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekAware.ConsumerSeekCallback callback) {
+        Map<TopicPartition, Long> initialOffsets = switch (initialPosition) {
+            case LATEST -> offsetResolver.endOffsets(assignments.keySet());
+            case EARLIEST -> offsetResolver.beginningOffsets(assignments.keySet());
+            case COMMITTED -> assignments;
+        };
+
+        synchronized (this) {
+            if (!assigned.isDone()) {
+                metrics.assigned(startNanos);
+            }
+            initialOffsets.forEach((partition, initialOffset) -> {
+                // A partition coming back after a rebalance resumes where it stopped
+                long offset = nextOffset.getOrDefault(partition.partition(), initialOffset);
+                offset = Math.min(offset, lowestPendingBound(partition.partition()));
+                log.debug("Tailer for topic {} starts partition {} at offset {}", topic, partition.partition(), offset);
+                callback.seek(partition.topic(), partition.partition(), offset);
+
+                Long previousNext = nextOffset.get(partition.partition());
+                if (previousNext == null || offset > previousNext) {
+                    // Records between the previous position and the new one were never seen
+                    cache.restartAt(partition.partition(), offset);
+                    nextOffset.put(partition.partition(), offset);
+                }
+            });
+        }
+        assigned.complete(null);
+    }
+
+    private long lowestPendingBound(int partition) {
+        long[] lowest = {Long.MAX_VALUE};
+        pending.forEach(match -> {
+            Long lowerBound = match.startOffsets.lowerBounds().get(partition);
+            if (lowerBound != null && lowerBound < lowest[0]) {
+                lowest[0] = lowerBound;
+            }
+        });
+        return lowest[0];
+    }
+
+    private final class TailerListener implements MessageListener<byte[], byte[]>, ConsumerSeekAware {
+
+        @Override
+        public void onMessage(ConsumerRecord<byte[], byte[]> record) {
+            onRecord(record);
+        }
+
+        @Override
+        public void registerSeekCallback(ConsumerSeekCallback callback) {
+            seekCallback = callback;
+        }
+
+        @Override
+        public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+            onAssigned(assignments, callback);
+        }
+    }
+
+    /**
+     * A verification registered on the tailer. Only used under the tailer's lock, except for
+     * {@link #complete()}.
+     */
+    private abstract class Pending {
+
+        final Predicate<ConsumerRecord<byte[], byte[]>> predicate;
+        final StartOffsets startOffsets;
+        final String key;
+        int scanned;
+
+        Pending(Predicate<ConsumerRecord<byte[], byte[]>> predicate, StartOffsets startOffsets, String key) {
+            this.predicate = predicate;
+            this.startOffsets = startOffsets;
+            this.key = key;
+        }
+
+        abstract boolean isDone();
+
+        /**
+         * Offers a record and returns true once the verification is decided.
+         */
+        abstract boolean offer(ConsumerRecord<byte[], byte[]> record);
+
+        abstract void complete();
+
+        boolean test(ConsumerRecord<byte[], byte[]> record) {
+            if (!startOffsets.accepts(record.partition(), record.offset())) {
+                return false;
+            }
+            scanned++;
+            long start = System.nanoTime();
+            try {
+                return predicate.test(record);
+            } catch (Exception e) {
+                log.error("Error processing message from topic {}: {}", topic, e.getMessage());
+                return false;
+            } finally {
+                metrics.matchEvaluated(start);
+            }
+        }
+    }
+
+    private final class PendingMatch extends Pending {
+
+        private final int count;
+        private final List<ConsumerRecord<byte[], byte[]>> records = new ArrayList<>();
+        private final CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> future = new CompletableFuture<>();
+
+        private PendingMatch(Predicate<ConsumerRecord<byte[], byte[]>> predicate, StartOffsets startOffsets, int count,
+                             String key) {
+            super(predicate, startOffsets, key);
+            this.count = count;
+        }
+
+        @Override
+        boolean isDone() {
+            return future.isDone();
+        }
+
+        /**
+         * Collects the record when it matches and returns true once enough records were collected.
+         */
+        @Override
+        boolean offer(ConsumerRecord<byte[], byte[]> record) {
+            if (test(record) && !seen(record)) {
+                records.add(record);
+            }
+            return records.size() >= count;
+        }
+
+        @Override
+        void complete() {
+            future.complete(List.copyOf(records));
+        }
+
+        // After a rewind, records already matched from the cache are delivered again
+        private boolean seen(ConsumerRecord<byte[], byte[]> record) {
+            for (ConsumerRecord<byte[], byte[]> previous : records) {
+                if (previous.partition() == record.partition() && previous.offset() == record.offset()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final class PendingAggregate extends Pending {
+
+        private final RecordAggregate aggregate;
+        // Per partition: offset after the newest record folded in, lower ones are replays
+        private final Map<Integer, Long> nextOffsets = new HashMap<>();
+        // Per rewound partition: next and end offset of the range below the cache that the rewind replays
+        private final Map<Integer, long[]> replays = new HashMap<>();
+        private final CompletableFuture<AggregateResult> future = new CompletableFuture<>();
+        private Outcome outcome = Outcome.OPEN;
+        private boolean early;
+
+        private PendingAggregate(Predicate<ConsumerRecord<byte[], byte[]>> filter, RecordAggregate aggregate,
+                                 StartOffsets startOffsets, String key) {
+            super(filter, startOffsets, key);
+            this.aggregate = aggregate;
+        }
+
+        @Override
+        boolean isDone() {
+            return outcome != Outcome.OPEN || future.isDone();
+        }
+
+        @Override
+        boolean offer(ConsumerRecord<byte[], byte[]> record) {
+            if (outcome != Outcome.OPEN) {
+                return true;
+            }
+            if (!firstDelivery(record.partition(), record.offset())) {
+                return false;
+            }
+            if (test(record)) {
+                outcome = aggregate.accept(record);
+                early = outcome != Outcome.OPEN;
+            }
+            return early;
+        }
+
+        private boolean firstDelivery(int partition, long offset) {
+            long[] replay = replays.get(partition);
+            if (replay != null && offset < replay[1]) {
+                if (offset < replay[0]) {
+                    return false;
+                }
+                replay[0] = offset + 1;
+                return true;
+            }
+            if (offset < nextOffsets.getOrDefault(partition, Long.MIN_VALUE)) {
+                return false;
+            }
+            nextOffsets.put(partition, offset + 1);
+            return true;
+        }
+
+        /**
+         * Ends the window, returns false when the outcome was already decided.
+         */
+        private boolean close() {
+            if (isDone()) {
+                return false;
+            }
+            outcome = aggregate.close();
+            return true;
+        }
+
+        @Override
+        void complete() {
+            future.complete(new AggregateResult(outcome == Outcome.PASSED, early, aggregate.describe()));
+        }
+    }
+}
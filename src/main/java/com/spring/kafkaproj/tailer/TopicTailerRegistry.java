@@ -0,0 +1,137 @@
+package com.spring.kafkaproj.tailer;
+
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicTailerRegistry implements DisposableBean {
+
+    private final ConsumerFactory<byte[], byte[]> consumerFactory;
+    private final OffsetResolver offsetResolver;
+    private final AsyncTaskExecutor tailerTaskExecutor;
+    private final HarnessMetrics metrics;
+    private final Map<String, TopicTailer> tailers = new ConcurrentHashMap<>();
+    // Distinguishes this run's consumer groups from concurrent runs sharing the cluster
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private ConsumerFactory<byte[], byte[]> assignOnlyConsumerFactory;
+
+    @Value("${test.kafka.group-id:test-group}")
+    private String groupId;
+
+    @Value("${test.kafka.tailer.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${test.kafka.tailer.buffer-max-bytes:67108864}")
+    private long bufferMaxBytes;
+
+    @Value("${test.kafka.tailer.buffer-max-age-seconds:600}")
+    private long bufferMaxAgeSeconds;
+
+    @Value("${test.kafka.tailer.initial-position:latest}")
+    private TopicTailer.InitialPosition initialPosition;
+
+    @Value("${test.kafka.tailer.assignment:manual}")
+    private TopicTailer.Assignment assignment;
+
+    // Topic to the path of the ID field its pending matches are indexed by
+    @Value("#{${test.kafka.tailer.key-paths:{:}}}")
+    private Map<String, String> keyPaths;
+
+    public TopicTailer tailerFor(String topic) {
+        TopicTailer tailer = tailers.get(topic);
+        if (tailer != null) {
+            return tailer;
+        }
+        // Created outside the map: the partition lookup is a broker round-trip and must not block
+        // other topics' lookups. A tailer that loses the race was never started and is dropped.
+        TopicTailer created = createTailer(topic);
+        tailer = tailers.putIfAbsent(topic, created);
+        if (tailer != null) {
+            return tailer;
+        }
+        created.start();
+        return created;
+    }
+
+    /**
+     * Creates a tailer in the configured assignment mode. A topic with no partitions yet, e.g. one
+     * the system under test creates on its first write, cannot be assigned manually: its tailer
+     * subscribes instead and reads the topic from the beginning once it appears, since everything
+     * in it was written after the tailer started.
+     */
+    private TopicTailer createTailer(String topic) {
+        JsonKeyExtractor keyExtractor = keyExtractor(topic);
+        RecordCache cache = new RecordCache(topic, bufferSize, bufferMaxBytes, bufferMaxAgeSeconds * 1000);
+        if (assignment == TopicTailer.Assignment.MANUAL) {
+            List<TopicPartition> partitions = offsetResolver.partitionsFor(topic);
+            if (!partitions.isEmpty()) {
+                log.info("Assigning {} partitions of topic {} without a consumer group", partitions.size(), topic);
+                return new TopicTailer(topic, null, partitions, assignOnlyConsumerFactory(),
+                        tailerTaskExecutor, cache, offsetResolver, initialPosition, keyExtractor,
+                        metrics.forTopic(topic));
+            }
+            log.info("Topic {} has no partitions yet, subscribing until it is created", topic);
+            return new TopicTailer(topic, tailerGroupId(topic), null, consumerFactory,
+                    tailerTaskExecutor, cache, offsetResolver, TopicTailer.InitialPosition.EARLIEST, keyExtractor,
+                    metrics.forTopic(topic));
+        }
+        return new TopicTailer(topic, tailerGroupId(topic), null, consumerFactory,
+                tailerTaskExecutor, cache, offsetResolver, initialPosition, keyExtractor,
+                metrics.forTopic(topic));
+    }
+
+    // One group per tailer: starting a tailer for a new topic never rebalances the others
+    private String tailerGroupId(String topic) {
+        return groupId + "-" + runId + "-" + topic;
+    }
+
+    private JsonKeyExtractor keyExtractor(String topic) {
+        String keyPath = keyPaths.get(topic);
+        if (keyPath == null) {
+            return null;
+        }
+        JsonKeyExtractor keyExtractor = JsonKeyExtractor.compile(keyPath);
+        if (keyExtractor == null) {
+            log.warn("Key path {} of topic {} is not a definite path, pending matches will not be indexed", keyPath, topic);
+        }
+        return keyExtractor;
+    }
+
+    /**
+     * Same configuration as the shared factory minus the group id. Without a group the
+     * container never commits, so a read-only tailer does no group round-trips at all.
+     */
+    synchronized ConsumerFactory<byte[], byte[]> assignOnlyConsumerFactory() {
+        if (assignOnlyConsumerFactory == null) {
+            Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+            props.remove(ConsumerConfig.GROUP_ID_CONFIG);
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+            assignOnlyConsumerFactory = new DefaultKafkaConsumerFactory<>(props);
+        }
+        return assignOnlyConsumerFactory;
+    }
+
+    @Override
+    public void destroy() {
+        tailers.values().forEach(TopicTailer::stop);
+        tailers.clear();
+    }
+}
@@ -0,0 +1,121 @@
+package com.spring.kafkaproj.template;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Value of one generated payload field, drawn for every record. Specs are plain values or
+ * contain placeholders:
+ * <ul>
+ *   <li>{@code ${seq}} or {@code ${seq:1000}}: the record's sequence number, plus an optional start</li>
+ *   <li>{@code ${random:1..100}}: a random integer in the inclusive range, or a decimal with as many
+ *   decimals as the bounds when either has a fraction, e.g. {@code ${random:0.01..99.99}}</li>
+ *   <li>{@code ${uuid}}: a random UUID</li>
+ *   <li>{@code ${timestamp}}, {@code ${timestamp:seconds}} or {@code ${timestamp:iso}}: the time of rendering</li>
+ * </ul>
+ * A spec that is a single placeholder yields a typed value, otherwise the parts are joined into a string.
+ */
+@FunctionalInterface
+public interface FieldGenerator {
+
+    Object next(long sequence);
+
+    static FieldGenerator compile(String spec) {
+        if (spec == null || !spec.contains("${") || "${null}".equalsIgnoreCase(spec)) {
+            Object value = PayloadModifications.typedValue(spec);
+            return sequence -> value;
+        }
+
+        List<FieldGenerator> parts = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = spec.indexOf("${", position)) >= 0) {
+            int end = spec.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in generator spec: " + spec);
+            }
+            if (start > position) {
+                String literal = spec.substring(position, start);
+                parts.add(sequence -> literal);
+            }
+            parts.add(placeholder(spec.substring(start + 2, end)));
+            position = end + 1;
+        }
+        if (position < spec.length()) {
+            String literal = spec.substring(position);
+            parts.add(sequence -> literal);
+        }
+
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        FieldGenerator[] joined = parts.toArray(FieldGenerator[]::new);
+        return sequence -> {
+            StringBuilder value = new StringBuilder();
+            for (FieldGenerator part : joined) {
+                value.append(part.next(sequence));
+            }
+            return value.toString();
+        };
+    }
+
+    private static FieldGenerator placeholder(String expression) {
+        int colon = expression.indexOf(':');
+        String name = colon < 0 ? expression : expression.substring(0, colon);
+        String argument = colon < 0 ? null : expression.substring(colon + 1);
+        return switch (name) {
+            case "seq" -> {
+                long first = argument == null ? 0 : Long.parseLong(argument);
+                yield sequence -> first + sequence;
+            }
+            case "random" -> random(expression, argument);
+            case "uuid" -> sequence -> {
+                // Version 4 UUID from the thread's generator instead of the shared SecureRandom
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+                long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+                return new UUID(most, least).toString();
+            };
+            case "timestamp" -> {
+                if (argument == null || argument.equals("millis")) {
+                    yield sequence -> System.currentTimeMillis();
+                } else if (argument.equals("seconds")) {
+                    yield sequence -> System.currentTimeMillis() / 1000;
+                } else if (argument.equals("iso")) {
+                    yield sequence -> Instant.now().toString();
+                }
+                throw new IllegalArgumentException("Unknown timestamp format in ${" + expression + "}");
+            }
+            default -> throw new IllegalArgumentException("Unknown generator ${" + expression + "}");
+        };
+    }
+
+    private static FieldGenerator random(String expression, String range) {
+        int separator = range == null ? -1 : range.indexOf("..");
+        if (separator < 0) {
+            throw new IllegalArgumentException("Expected ${random:min..max}, got ${" + expression + "}");
+        }
+        BigDecimal min = new BigDecimal(range.substring(0, separator).trim());
+        BigDecimal max = new BigDecimal(range.substring(separator + 2).trim());
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Empty range in ${" + expression + "}");
+        }
+        int scale = Math.max(min.scale(), max.scale());
+        if (scale <= 0) {
+            long low = min.longValueExact();
+            long high = max.longValueExact();
+            return sequence -> ThreadLocalRandom.current().nextLong(low, high + 1);
+        }
+        double low = min.doubleValue();
+        double high = max.doubleValue();
+        return sequence -> {
+            double value = low + ThreadLocalRandom.current().nextDouble() * (high - low);
+            return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.kafkaproj.template;
+
+import com.jayway.jsonpath.JsonPath;
+import com.spring.kafkaproj.matching.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template plus one {@link FieldGenerator} per path, compiled once and rendered for every
+ * generated record. Safe to render from several threads.
+ */
+public final class PayloadGenerator {
+
+    private final PayloadTemplate template;
+    private final List<GeneratedField> fields;
+
+    private PayloadGenerator(PayloadTemplate template, List<GeneratedField> fields) {
+        this.template = template;
+        this.fields = fields;
+    }
+
+    public static PayloadGenerator compile(PayloadTemplate template, Map<String, String> specs) {
+        List<GeneratedField> fields = new ArrayList<>(specs.size());
+        for (Map.Entry<String, String> entry : specs.entrySet()) {
+            fields.add(new GeneratedField(entry.getKey(), JsonPaths.compile(entry.getKey()),
+                    FieldGenerator.compile(entry.getValue())));
+        }
+        return new PayloadGenerator(template, List.copyOf(fields));
+    }
+
+    public String getName() {
+        return template.getName();
+    }
+
+    public byte[] render(long sequence) {
+        List<PayloadModifications.Modification> modifications = new ArrayList<>(fields.size());
+        for (GeneratedField field : fields) {
+            modifications.add(new PayloadModifications.Modification(field.path(), field.compiledPath(),
+                    field.generator().next(sequence)));
+        }
+        return template.render(PayloadModifications.of(modifications));
+    }
+
+    private record GeneratedField(String path, JsonPath compiledPath, FieldGenerator generator) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.spring.kafkaproj.template;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.spring.kafkaproj.matching.JsonPaths;
+import com.spring.kafkaproj.matching.Literals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data-table overrides compiled once: every path is compiled and every value converted to
+ * its JSON type up front, so applying the set is a single pass over the document.
+ */
+public final class PayloadModifications {
+
+    private static final PayloadModifications NONE = new PayloadModifications(List.of());
+
+    private final List<Modification> modifications;
+
+    private PayloadModifications(List<Modification> modifications) {
+        this.modifications = modifications;
+    }
+
+    public static PayloadModifications none() {
+        return NONE;
+    }
+
+    public static PayloadModifications compile(Map<String, String> overrides) {
+        List<Modification> modifications = new ArrayList<>(overrides.size());
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            modifications.add(new Modification(entry.getKey(), JsonPaths.compile(entry.getKey()), typedValue(entry.getValue())));
+        }
+        return new PayloadModifications(List.copyOf(modifications));
+    }
+
+    static PayloadModifications of(List<Modification> modifications) {
+        return new PayloadModifications(modifications);
+    }
+
+    void applyTo(Object document, Configuration configuration) {
+        for (Modification modification : modifications) {
+            try {
+                modification.compiledPath().set(document, modification.value(), configuration);
+            } catch (PathNotFoundException e) {
+                throw new RuntimeException("Invalid JSON path: " + modification.path(), e);
+            }
+        }
+    }
+
+    static Object typedValue(String value) {
+        // Handle null or "null" string values
+        if (value == null || value.equalsIgnoreCase("null")) {
+            return null;
+        }
+
+        // Handle empty string
+        if (value.isEmpty()) {
+            return "";
+        }
+
+        // Handle numeric values
+        if (Literals.isInteger(value)) {
+            return Long.parseLong(value);
+        }
+        if (Literals.isDecimal(value)) {
+            return Double.parseDouble(value);
+        }
+
+        // Handle boolean values
+        if (Literals.isBoolean(value)) {
+            return Boolean.parseBoolean(value);
+        }
+
+        // Handle special string values that might indicate null
+        if (value.equalsIgnoreCase("<null>") || value.equalsIgnoreCase("${null}")) {
+            return null;
+        }
+
+        // Default: treat as string
+        return value;
+    }
+
+    record Modification(String path, JsonPath compiledPath, Object value) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.kafkaproj.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+
+/**
+ * A payload file parsed once. The tree is never modified: each render works on a copy.
+ */
+public final class PayloadTemplate {
+
+    private final String name;
+    private final JsonNode tree;
+    private final ObjectMapper objectMapper;
+    private final Configuration jsonPathConfiguration;
+
+    PayloadTemplate(String name, JsonNode tree, ObjectMapper objectMapper, Configuration jsonPathConfiguration) {
+        this.name = name;
+        this.tree = tree;
+        this.objectMapper = objectMapper;
+        this.jsonPathConfiguration = jsonPathConfiguration;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Applies the modifications to a copy of the template and serializes it straight to UTF-8 bytes.
+     */
+    public byte[] render(PayloadModifications modifications) {
+        JsonNode document = tree.deepCopy();
+        modifications.applyTo(document, jsonPathConfiguration);
+        try {
+            return objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing JSON payload: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.spring.kafkaproj.template;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads payload files from the classpath once and keeps them as parsed templates.
+ */
+@Component
+@Slf4j
+public class PayloadTemplates {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final Configuration jsonPathConfiguration;
+    private final Map<String, PayloadTemplate> templates = new ConcurrentHashMap<>();
+
+    public PayloadTemplates(ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.jsonPathConfiguration = Configuration.builder()
+                .jsonProvider(new JacksonJsonNodeJsonProvider(objectMapper))
+                .mappingProvider(new JacksonMappingProvider(objectMapper))
+                .build();
+    }
+
+    public PayloadTemplate get(String jsonFile) {
+        String filePath = jsonFile.startsWith("/") ? jsonFile : "/payload/" + jsonFile;
+        return templates.computeIfAbsent(filePath, this::load);
+    }
+
+    private PayloadTemplate load(String filePath) {
+        Resource resource = resourceLoader.getResource("classpath:" + filePath);
+        try (InputStream input = resource.getInputStream()) {
+            JsonNode tree = objectMapper.readTree(input);
+            log.debug("Loaded JSON template {}", filePath);
+            return new PayloadTemplate(filePath, tree, objectMapper, jsonPathConfiguration);
+        } catch (Exception e) {
+            log.error("Error loading JSON file {}: {}", filePath, e.getMessage());
+            throw new RuntimeException("Error loading JSON payload: " + filePath, e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.spring.kafkaproj.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds the topics feature files talk about: quoted names followed by "topic" or "kafka topic"
+ * in step text, and the cells of any data table column named "topic". Outline placeholders
+ * such as {@code "<topic>"} are skipped. A topic in a step that sends to it, e.g.
+ * {@code I send "order" to "orders" kafka topic}, is produced to. Any other mention, e.g.
+ * {@code I should find matching message in "orders" topic}, is verified, and so is every table
+ * cell: its row may stand in for a placeholder of either kind of step.
+ */
+@Slf4j
+final class FeatureTopicScanner {
+
+    private static final Pattern STEP_TOPIC = Pattern.compile("(\\bto\\s+)?\"([^\"<>]+)\"\\s+(?:kafka\\s+)?topic\\b");
+
+    private FeatureTopicScanner() {
+    }
+
+    static FeatureTopics scan(Path featuresDir) {
+        FeatureTopics topics = new FeatureTopics(new TreeSet<>(), new TreeSet<>());
+        if (!Files.isDirectory(featuresDir)) {
+            log.debug("No feature directory at {}, no topics discovered", featuresDir);
+            return topics;
+        }
+        try (Stream<Path> files = Files.walk(featuresDir)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".feature")).toList()) {
+                scanFile(Files.readAllLines(file), topics);
+            }
+        } catch (IOException e) {
+            log.warn("Error scanning feature files in {}: {}", featuresDir, e.getMessage());
+        }
+        return topics;
+    }
+
+    private static void scanFile(List<String> lines, FeatureTopics topics) {
+        int topicColumn = -1;
+        boolean inTable = false;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (!GherkinTableRow.isRow(trimmed)) {
+                inTable = false;
+                Matcher matcher = STEP_TOPIC.matcher(trimmed);
+                while (matcher.find()) {
+                    (matcher.group(1) != null ? topics.produced() : topics.verified()).add(matcher.group(2));
+                }
+                continue;
+            }
+
+            List<String> cells = GherkinTableRow.cells(trimmed);
+            if (!inTable) {
+                // First row of a table is its header
+                inTable = true;
+                topicColumn = cells.indexOf("topic");
+            } else if (topicColumn >= 0 && topicColumn < cells.size()) {
+                String topic = cells.get(topicColumn);
+                if (!topic.isEmpty() && !topic.contains("<")) {
+                    topics.verified().add(topic);
+                }
+            }
+        }
+    }
+
+    /**
+     * Topics by how the features use them. A topic can be in both sets.
+     */
+    record FeatureTopics(Set<String> verified, Set<String> produced) {
+
+        Set<String> all() {
+            Set<String> all = new TreeSet<>(verified);
+            all.addAll(produced);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.spring.kafkaproj.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cells of a Gherkin table row as written in a feature file, e.g. {@code | id | status |}.
+ * Shared by everything that reads feature files without running them.
+ */
+public final class GherkinTableRow {
+
+    private GherkinTableRow() {
+    }
+
+    public static boolean isRow(String trimmedLine) {
+        return trimmedLine.startsWith("|");
+    }
+
+    /**
+     * Splits a trimmed row into its trimmed cells. {@code \|}, {@code \\} and {@code \n} are
+     * unescaped as Gherkin does.
+     */
+    public static List<String> cells(String trimmedRow) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        for (int i = 1; i < trimmedRow.length(); i++) {
+            char c = trimmedRow.charAt(i);
+            if (c == '|') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else if (c == '\\' && i + 1 < trimmedRow.length()) {
+                char escaped = trimmedRow.charAt(++i);
+                switch (escaped) {
+                    case '|', '\\' -> cell.append(escaped);
+                    case 'n' -> cell.append('\n');
+                    default -> cell.append(c).append(escaped);
+                }
+            } else {
+                cell.append(c);
+            }
+        }
+        // Text after the last pipe is not a cell
+        return cells;
+    }
+}
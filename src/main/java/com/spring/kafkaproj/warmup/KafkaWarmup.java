@@ -0,0 +1,115 @@
+package com.spring.kafkaproj.warmup;
+
+import com.spring.kafkaproj.tailer.OffsetResolver;
+import com.spring.kafkaproj.tailer.TopicTailer;
+import com.spring.kafkaproj.tailer.TopicTailerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens every Kafka client the scenarios are going to need before the first one runs: producer
+ * connections and metadata and the offset lookup consumers for every topic, and a positioned
+ * tailer per topic that is verified. Topics the features only produce to get no tailer unless
+ * the tailer scope is ALL.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaWarmup {
+
+    /**
+     * Feature topics that get a tailer during warm-up: VERIFIED those named by verification steps,
+     * ALL every topic the features name.
+     */
+    public enum TailerScope { VERIFIED, ALL }
+
+    private final List<KafkaTemplate<String, byte[]>> kafkaTemplates;
+    private final OffsetResolver offsetResolver;
+    private final TopicTailerRegistry tailerRegistry;
+
+    @Value("${test.kafka.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${test.kafka.warmup.topics:}")
+    private String[] topics;
+
+    @Value("${test.kafka.warmup.tailer-scope:verified}")
+    private TailerScope tailerScope;
+
+    @Value("${test.kafka.warmup.features-dir:src/test/resources/features}")
+    private String featuresDir;
+
+    @Value("${test.kafka.warmup.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Set<String> configuredTopics = new TreeSet<>(Arrays.asList(topics));
+        configuredTopics.removeIf(String::isBlank);
+        FeatureTopicScanner.FeatureTopics featureTopics = FeatureTopicScanner.scan(Path.of(featuresDir));
+        Set<String> warmupTopics = new TreeSet<>(configuredTopics);
+        warmupTopics.addAll(featureTopics.all());
+        // Configured topics are always tailed, they are listed to be warmed up completely
+        Set<String> tailedTopics = new TreeSet<>(configuredTopics);
+        tailedTopics.addAll(tailerScope == TailerScope.ALL ? featureTopics.all() : featureTopics.verified());
+        if (warmupTopics.isEmpty()) {
+            log.info("No topics configured or found in {}, skipping Kafka warm-up", featuresDir);
+            return;
+        }
+
+        long start = System.nanoTime();
+        log.info("Warming up Kafka clients for topics {}, tailers for {}", warmupTopics, tailedTopics);
+        for (KafkaTemplate<String, byte[]> kafkaTemplate : kafkaTemplates) {
+            if (kafkaTemplate.getProducerFactory().isProducerPerThread()) {
+                // Its producers belong to the threads that send, warming one up here would not help them
+                continue;
+            }
+            for (String topic : warmupTopics) {
+                try {
+                    kafkaTemplate.partitionsFor(topic);
+                } catch (Exception e) {
+                    log.warn("Error fetching producer metadata for topic {}: {}", topic, e.getMessage());
+                }
+            }
+        }
+        try {
+            offsetResolver.warmUp(warmupTopics);
+        } catch (Exception e) {
+            log.warn("Error warming up offset lookups: {}", e.getMessage());
+        }
+
+        List<CompletableFuture<Void>> assignments = new ArrayList<>();
+        for (String topic : tailedTopics) {
+            try {
+                TopicTailer tailer = tailerRegistry.tailerFor(topic);
+                assignments.add(tailer.assigned());
+            } catch (Exception e) {
+                log.warn("Error starting tailer for topic {}: {}", topic, e.getMessage());
+            }
+        }
+        try {
+            CompletableFuture.allOf(assignments.toArray(CompletableFuture[]::new)).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Not every tailer was assigned within {} seconds: {}", timeoutSeconds, e.toString());
+        }
+        log.info("Kafka warm-up of {} topics done in {} ms", warmupTopics.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
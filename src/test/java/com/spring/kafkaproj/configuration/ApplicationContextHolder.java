@@ -0,0 +1,27 @@
+package com.spring.kafkaproj.configuration;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives classes that Spring does not create, such as TestNG listeners, the context the
+ * scenarios run in.
+ */
+@Component
+public class ApplicationContextHolder implements ApplicationContextAware {
+
+    private static volatile ApplicationContext context;
+
+    /**
+     * Returns the scenarios' context, or null when no scenario has started it.
+     */
+    public static ApplicationContext get() {
+        return context;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        context = applicationContext;
+    }
+}
@@ -0,0 +1,208 @@
+package com.spring.kafkaproj.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes scenario outcomes to the Azure test plan from a background thread, so scenarios
+ * never wait on the network. Outcomes are queued as they are submitted and posted in batches
+ * to a single run per execution. The suite's test points are read once, on the first batch.
+ * The rows of an outline that map to one test case are published as a single outcome, since a
+ * test point holds one result per run. Whatever is still queued is published, and the run
+ * completed, when the context closes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AzureResultPublisher implements DisposableBean {
+
+    private final AzureTestPlanClient client;
+    private final BlockingQueue<TestOutcome> queue = new LinkedBlockingQueue<>();
+    // Rows of outlines still waiting for the rest of their outline, by test case and outline
+    private final Map<String, OutlineOutcome> outlines = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private Thread worker;
+    // Only touched by the worker thread
+    private Map<String, Integer> testPoints;
+    private Integer runId;
+
+    @Value("${azure.testplan.enabled:false}")
+    private boolean enabled;
+
+    @Value("${azure.testplan.batch-size:100}")
+    private int batchSize;
+
+    @Value("${azure.testplan.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    @Value("${azure.testplan.shutdown-timeout-seconds:60}")
+    private long shutdownTimeoutSeconds;
+
+    /**
+     * Queues the outcome for publishing. Returns immediately.
+     */
+    public void submit(TestOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        if (closed) {
+            log.warn("Test result of test case {} submitted after shutdown, not published", outcome.testCaseId());
+            return;
+        }
+        startWorker();
+        queue.add(outcome);
+    }
+
+    /**
+     * Combines the outcome of an outline row with those of the other rows of {@code outline}
+     * for the same test case, {@code rows} in all, and queues the combined outcome once the last
+     * of them arrives. It is Failed if any row failed. Rows that never run, e.g. ones filtered
+     * out by tags, leave their outline to be queued on shutdown instead.
+     */
+    public void submitRow(String outline, int rows, TestOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        String key = outcome.testCaseId() + " " + outline;
+        OutlineOutcome combined = outlines.compute(key, (k, previous) ->
+                previous == null ? new OutlineOutcome(outline, outcome, List.of(outcome.outcome())) : previous.add(outcome));
+        if (combined.outcomes().size() >= rows && outlines.remove(key, combined)) {
+            submit(combined.toOutcome());
+        }
+    }
+
+    private synchronized void startWorker() {
+        if (worker == null) {
+            worker = Thread.ofPlatform().name("azure-result-publisher").daemon().start(this::publishUntilClosed);
+        }
+    }
+
+    private void publishUntilClosed() {
+        List<TestOutcome> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                TestOutcome first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give the batch up to one flush interval to fill before posting it
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize && !closed) {
+                    TestOutcome next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                publish(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Result publisher interrupted, {} test results not published", batch.size() + queue.size());
+        }
+        if (runId != null) {
+            try {
+                client.completeRun(runId);
+                log.info("Completed test run {}", runId);
+            } catch (RuntimeException e) {
+                log.error("Failed to complete test run {}: {}", runId, e.getMessage());
+            }
+        }
+    }
+
+    private void publish(List<TestOutcome> batch) {
+        try {
+            if (testPoints == null) {
+                testPoints = client.fetchTestPoints();
+            }
+            List<Map<String, Object>> results = new ArrayList<>(batch.size());
+            for (TestOutcome outcome : batch) {
+                Integer pointId = testPoints.get(outcome.testCaseId());
+                if (pointId == null) {
+                    log.warn("No test point for test case {} in the suite, result not published", outcome.testCaseId());
+                    continue;
+                }
+                results.add(result(pointId, outcome));
+            }
+            if (results.isEmpty()) {
+                return;
+            }
+            if (runId == null) {
+                runId = client.createRun("Automated Test Run - " + Instant.now());
+            }
+            client.addResults(runId, results);
+            log.debug("Published {} test results to run {}", results.size(), runId);
+        } catch (RuntimeException e) {
+            log.error("Failed to publish {} test results: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> result(int pointId, TestOutcome outcome) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("testPoint", Map.of("id", pointId));
+        result.put("testCase", Map.of("id", outcome.testCaseId()));
+        result.put("testCaseTitle", outcome.title());
+        result.put("outcome", outcome.outcome());
+        result.put("state", "Completed");
+        result.put("comment", outcome.comment());
+        return result;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (String key : outlines.keySet()) {
+            OutlineOutcome partial = outlines.remove(key);
+            if (partial != null) {
+                submit(partial.toOutcome());
+            }
+        }
+        closed = true;
+        Thread running;
+        synchronized (this) {
+            running = worker;
+        }
+        if (running != null && !running.join(Duration.ofSeconds(shutdownTimeoutSeconds))) {
+            log.warn("Result publisher still running after {}s, {} test results not published",
+                    shutdownTimeoutSeconds, queue.size());
+        }
+    }
+
+    /**
+     * Result of one scenario execution. {@code outcome} is the Azure outcome name.
+     */
+    public record TestOutcome(String testCaseId, String title, String outcome, String comment) {
+    }
+
+    private record OutlineOutcome(String outline, TestOutcome first, List<String> outcomes) {
+
+        OutlineOutcome add(TestOutcome outcome) {
+            List<String> added = new ArrayList<>(outcomes);
+            added.add(outcome.outcome());
+            return new OutlineOutcome(outline, first, List.copyOf(added));
+        }
+
+        TestOutcome toOutcome() {
+            String outcome = outcomes.contains("Failed") ? "Failed"
+                    : outcomes.contains("Passed") ? "Passed" : "NotExecuted";
+            return new TestOutcome(first.testCaseId(), first.title(), outcome,
+                    outline + "\nExamples results: " + String.join(", ", outcomes));
+        }
+    }
+}
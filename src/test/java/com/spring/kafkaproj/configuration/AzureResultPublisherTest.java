@@ -0,0 +1,146 @@
+package com.spring.kafkaproj.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishing against a local stub of the Azure test plan API. The suite has test points 11 and
+ * 12 for test cases 101 and 102, and every run created is run 7.
+ */
+class AzureResultPublisherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private AzureResultPublisher publisher;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            calls.add(new Call(exchange.getRequestMethod(), path,
+                    new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            String response = "{}";
+            if (path.endsWith("/points")) {
+                response = query.contains("$skip=0")
+                        ? "{\"value\":[{\"id\":11,\"testCase\":{\"id\":\"101\"}},{\"id\":12,\"testCase\":{\"id\":\"102\"}}]}"
+                        : "{\"value\":[]}";
+            } else if (path.endsWith("/runs")) {
+                response = "{\"id\":7}";
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        AzureTestPlanClient client = new AzureTestPlanClient();
+        ReflectionTestUtils.setField(client, "baseUrl", "http://localhost:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(client, "organization", "org");
+        ReflectionTestUtils.setField(client, "project", "project");
+        ReflectionTestUtils.setField(client, "testPlanId", "1");
+        ReflectionTestUtils.setField(client, "suiteId", "2");
+        ReflectionTestUtils.setField(client, "pat", "pat");
+        publisher = new AzureResultPublisher(client);
+        ReflectionTestUtils.setField(publisher, "enabled", true);
+        ReflectionTestUtils.setField(publisher, "batchSize", 2);
+        ReflectionTestUtils.setField(publisher, "flushIntervalMs", 200L);
+        ReflectionTestUtils.setField(publisher, "shutdownTimeoutSeconds", 10L);
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void resultsArePostedInBatchesToOneRunThatIsCompletedOnShutdown() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            publisher.submit(outcome(i % 2 == 0 ? "101" : "102", "Passed"));
+        }
+        publisher.submit(outcome("999", "Passed"));
+        publisher.destroy();
+
+        assertThat(calls).filteredOn(call -> call.path().endsWith("/points")).hasSize(2);
+        assertThat(calls).filteredOn(call -> call.path().endsWith("/runs")).hasSize(1);
+        List<Call> results = calls.stream().filter(call -> call.path().endsWith("/runs/7/results")).toList();
+        // The test case without a test point in the suite is not posted
+        assertThat(results).extracting(call -> call.json().size()).containsExactly(2, 2, 1);
+        Call last = calls.get(calls.size() - 1);
+        assertThat(last.method()).isEqualTo("PATCH");
+        assertThat(last.path()).endsWith("/runs/7");
+        assertThat(last.json().get("state").asText()).isEqualTo("Completed");
+    }
+
+    @Test
+    void outlineRowsArePostedAsOneResultThatFailsIfAnyRowFailed() throws Exception {
+        publisher.submitRow("a.feature:3", 3, outcome("101", "Passed"));
+        publisher.submitRow("a.feature:3", 3, outcome("101", "Failed"));
+        publisher.submitRow("a.feature:3", 3, outcome("101", "Passed"));
+        publisher.destroy();
+
+        List<JsonNode> posted = postedResults();
+        assertThat(posted).hasSize(1);
+        assertThat(posted.get(0).get("testPoint").get("id").asInt()).isEqualTo(11);
+        assertThat(posted.get(0).get("outcome").asText()).isEqualTo("Failed");
+        assertThat(posted.get(0).get("comment").asText()).contains("Passed, Failed, Passed");
+    }
+
+    @Test
+    void outlineWithRowsThatNeverRanIsPostedOnShutdown() throws Exception {
+        publisher.submitRow("a.feature:3", 3, outcome("101", "Passed"));
+        publisher.submitRow("a.feature:9", 1, outcome("102", "Passed"));
+        Thread.sleep(500);
+
+        assertThat(postedResults()).extracting(result -> result.get("testCase").get("id").asText())
+                .containsExactly("102");
+
+        publisher.destroy();
+
+        assertThat(postedResults()).extracting(result -> result.get("testCase").get("id").asText())
+                .containsExactly("102", "101");
+        assertThat(postedResults().get(1).get("outcome").asText()).isEqualTo("Passed");
+    }
+
+    private List<JsonNode> postedResults() {
+        List<JsonNode> results = new ArrayList<>();
+        calls.stream()
+                .filter(call -> call.path().endsWith("/results"))
+                .forEach(call -> call.json().forEach(results::add));
+        return results;
+    }
+
+    private static AzureResultPublisher.TestOutcome outcome(String testCaseId, String outcome) {
+        return new AzureResultPublisher.TestOutcome(testCaseId, "Scenario " + testCaseId, outcome, "a.feature:1");
+    }
+
+    private record Call(String method, String path, String body) {
+
+        JsonNode json() {
+            try {
+                return MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Request body is not JSON: " + body, e);
+            }
+        }
+    }
+}
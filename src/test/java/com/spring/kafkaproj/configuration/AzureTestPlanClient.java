@@ -0,0 +1,109 @@
+package com.spring.kafkaproj.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Azure DevOps test plan REST calls used to publish results. The base URL is configurable so
+ * the publisher can be pointed at a local HTTP stub.
+ */
+@Component
+public class AzureTestPlanClient {
+
+    private static final String API_VERSION = "api-version=7.1";
+    private static final int POINTS_PAGE_SIZE = 200;
+
+    // The JDK client supports PATCH, HttpURLConnection does not
+    private final RestTemplate restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
+
+    @Value("${azure.testplan.base-url:https://dev.azure.com}")
+    private String baseUrl;
+
+    @Value("${azure.testplan.organization:}")
+    private String organization;
+
+    @Value("${azure.testplan.project:}")
+    private String project;
+
+    @Value("${azure.testplan.planId:}")
+    private String testPlanId;
+
+    @Value("${azure.testplan.suiteId:}")
+    private String suiteId;
+
+    @Value("${azure.testplan.pat:}")
+    private String pat;
+
+    /**
+     * Returns the suite's test point IDs by test case ID, reading every page of the suite.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Integer> fetchTestPoints() {
+        Map<String, Integer> pointIds = new HashMap<>();
+        for (int skip = 0; ; skip += POINTS_PAGE_SIZE) {
+            String url = String.format("%s/Plans/%s/Suites/%s/points?$skip=%d&$top=%d&%s",
+                    apiUrl(), testPlanId, suiteId, skip, POINTS_PAGE_SIZE, API_VERSION);
+            Map<String, Object> page = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers()), Map.class)
+                    .getBody();
+            List<Map<String, Object>> points = page == null ? List.of() : (List<Map<String, Object>>) page.get("value");
+            if (points == null || points.isEmpty()) {
+                return pointIds;
+            }
+            for (Map<String, Object> point : points) {
+                Map<String, Object> testCase = (Map<String, Object>) point.get("testCase");
+                pointIds.put(String.valueOf(testCase.get("id")), ((Number) point.get("id")).intValue());
+            }
+        }
+    }
+
+    /**
+     * Creates an automated run in progress on the test plan and returns its ID.
+     */
+    public int createRun(String name) {
+        Map<String, Object> run = new HashMap<>();
+        run.put("name", name);
+        run.put("plan", Map.of("id", testPlanId));
+        run.put("automated", true);
+        run.put("state", "InProgress");
+        Map<?, ?> created = restTemplate.exchange(apiUrl() + "/runs?" + API_VERSION, HttpMethod.POST,
+                new HttpEntity<>(run, headers()), Map.class).getBody();
+        if (created == null || !(created.get("id") instanceof Number id)) {
+            throw new RuntimeException("Test run was created without an id");
+        }
+        return id.intValue();
+    }
+
+    public void addResults(int runId, List<Map<String, Object>> results) {
+        String url = String.format("%s/runs/%d/results?%s", apiUrl(), runId, API_VERSION);
+        restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(results, headers()), Map.class);
+    }
+
+    public void completeRun(int runId) {
+        String url = String.format("%s/runs/%d?%s", apiUrl(), runId, API_VERSION);
+        restTemplate.exchange(url, HttpMethod.PATCH, new HttpEntity<>(Map.of("state", "Completed"), headers()), Map.class);
+    }
+
+    private String apiUrl() {
+        return String.format("%s/%s/%s/_apis/test", baseUrl, organization, project);
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Basic " + Base64.getEncoder()
+                .encodeToString((":" + pat).getBytes(StandardCharsets.UTF_8)));
+        return headers;
+    }
+}
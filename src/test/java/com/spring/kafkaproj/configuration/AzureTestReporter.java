@@ -1,257 +1,54 @@
-package com.test.azure;
+package com.spring.kafkaproj.configuration;
 
 import io.cucumber.java.After;
-import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import org.springframework.http.*;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-import java.util.*;
-
-@Component
+import io.cucumber.java.Status;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hands every scenario that maps to an Azure test case to the {@link AzureResultPublisher}.
+ * Publishing happens in the background, so the hook only costs the test case lookup: a
+ * {@code @TC<id>} tag, else the testId cell of the scenario's Examples row. Rows of an outline
+ * are combined into one outcome per test case by the publisher.
+ */
+@RequiredArgsConstructor
 public class AzureTestReporter {
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final Map<String, List<Boolean>> testResults = new HashMap<>();
-    private final Map<String, String> scenarioNames = new HashMap<>();
-    private String lastProcessedScenario = null;
-
-    @Value("${azure.testplan.pat}")
-    private String pat;
-    
-    @Value("${azure.testplan.organization}")
-    private String organization;
-    
-    @Value("${azure.testplan.project}")
-    private String project;
-    
-    @Value("${azure.testplan.planId}")
-    private String testPlanId;
 
-    @Before
-    public void beforeScenario(Scenario scenario) {
-        String testCaseId = extractTestCaseId(scenario);
-        if (testCaseId != null) {
-            String scenarioBase = getScenarioBase(scenario.getId());
-            if (!scenarioBase.equals(lastProcessedScenario)) {
-                lastProcessedScenario = scenarioBase;
-                testResults.putIfAbsent(testCaseId, new ArrayList<>());
-                scenarioNames.putIfAbsent(testCaseId, scenario.getName().split("Examples:")[0].trim());
-            }
-        }
-    }
+    private final AzureResultPublisher publisher;
+    private final FeatureTestCaseIndex testCaseIndex;
 
     @After
     public void afterScenario(Scenario scenario) {
-        String testCaseId = extractTestCaseId(scenario);
-        if (testCaseId != null) {
-            testResults.get(testCaseId).add(!scenario.isFailed());
-            
-            String currentBase = getScenarioBase(scenario.getId());
-            if (!currentBase.equals(getScenarioBase(getNextScenarioId(scenario)))) {
-                boolean allPassed = testResults.get(testCaseId).stream().allMatch(result -> result);
-                updateTestResult(testCaseId, allPassed ? "Passed" : "Failed", 
-                    scenarioNames.get(testCaseId) + "\nExamples results: " + 
-                    testResults.get(testCaseId).toString());
-                
-                testResults.remove(testCaseId);
-                scenarioNames.remove(testCaseId);
-            }
+        String taggedId = taggedTestCaseId(scenario);
+        FeatureTestCaseIndex.ExamplesRow row = testCaseIndex.rowAt(scenario.getUri(), scenario.getLine());
+        String testCaseId = taggedId != null ? taggedId : row == null ? null : row.testId();
+        if (testCaseId == null) {
+            return;
+        }
+        AzureResultPublisher.TestOutcome outcome = new AzureResultPublisher.TestOutcome(testCaseId,
+                scenario.getName(), outcome(scenario.getStatus()), scenario.getUri() + ":" + scenario.getLine());
+        if (row == null) {
+            publisher.submit(outcome);
+        } else {
+            // A tag covers every row of the outline, a testId cell only the rows sharing it
+            publisher.submitRow(scenario.getUri() + ":" + row.outlineLine(),
+                    taggedId != null ? row.outlineRows() : row.testIdRows(), outcome);
         }
     }
-    
-    private String getScenarioBase(String id) {
-        return id.substring(0, id.lastIndexOf(';'));
-    }
-    
-    private String getNextScenarioId(Scenario scenario) {
-        return scenario.getUri() + ";" + (scenario.getLine() + 1);
-    }
-    
-    private String extractTestCaseId(Scenario scenario) {
-        return scenario.getSourceTagNames().stream()
-            .filter(tag -> tag.startsWith("@TC"))
-            .findFirst()
-            .map(tag -> tag.substring(3))
-            .orElse(null);
-    }
-    
-    private void updateTestResult(String testCaseId, String outcome, String comment) {
-        String url = String.format("https://dev.azure.com/%s/%s/_apis/test/Results?api-version=7.1", 
-            organization, project);
-            
-        Map<String, Object> testResult = new HashMap<>();
-        testResult.put("outcome", outcome);
-        testResult.put("testCase", Map.of("id", testCaseId));
-        testResult.put("testPlan", Map.of("id", testPlanId));
-        testResult.put("comment", comment);
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Basic " + Base64.getEncoder().encodeToString((":" + pat).getBytes()));
-        
-        HttpEntity<List<Map<String, Object>>> request = 
-            new HttpEntity<>(Collections.singletonList(testResult), headers);
-        
-        restTemplate.exchange(url, HttpMethod.POST, request, Object.class);
-    }
-}
-
-
-
-
-
-
-
-
-
-
 
-
-
-
-
-private void updateTestResult(String testCaseId, String outcome, String comment) {
-        String pointsUrl = String.format("https://dev.azure.com/%s/%s/_apis/test/Plans/%s/Suites/%s/points?api-version=7.1",
-            organization, project, testPlanId, suiteId);
-            
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "Basic " + Base64.getEncoder().encodeToString((":" + pat).getBytes()));
-
-        HttpEntity<Void> pointsRequest = new HttpEntity<>(headers);
-        ResponseEntity<Map> pointsResponse = restTemplate.exchange(pointsUrl, HttpMethod.GET, pointsRequest, Map.class);
-        List<Map<String, Object>> points = (List<Map<String, Object>>) pointsResponse.getBody().get("value");
-        Integer pointId = points.stream()
-            .filter(p -> testCaseId.equals(((Map)p.get("testCase")).get("id")))
-            .findFirst()
-            .map(p -> (Integer)p.get("id"))
-            .orElseThrow(() -> new RuntimeException("Test point not found"));
-
-        // Create run
-        String runUrl = String.format("https://dev.azure.com/%s/%s/_apis/test/runs?api-version=7.1", 
-            organization, project);
-
-        Map<String, Object> runData = new HashMap<>();
-        runData.put("name", comment);
-        runData.put("plan", Map.of("id", testPlanId));
-        runData.put("state", "InProgress");
-        
-        ResponseEntity<Map> runResponse = restTemplate.exchange(runUrl, HttpMethod.POST, new HttpEntity<>(runData, headers), Map.class);
-        Integer runId = (Integer) runResponse.getBody().get("id");
-
-        // Add result
-        String resultUrl = String.format("https://dev.azure.com/%s/%s/_apis/test/runs/%d/results?api-version=7.1", 
-            organization, project, runId);
-            
-        Map<String, Object> result = new HashMap<>();
-        result.put("testPoint", Map.of("id", pointId));
-        result.put("testCase", Map.of("id", testCaseId));
-        result.put("testCaseRevision", 1);
-        result.put("testCaseTitle", comment);
-        result.put("outcome", outcome);
-        result.put("state", "Completed");
-        
-        HttpEntity<List<Map<String, Object>>> resultRequest = new HttpEntity<>(Collections.singletonList(result), headers);
-        restTemplate.exchange(resultUrl, HttpMethod.POST, resultRequest, Map.class);
-
-        // Complete run
-        String completeUrl = String.format("https://dev.azure.com/%s/%s/_apis/test/runs/%d?api-version=7.1", 
-            organization, project, runId);
-        Map<String, Object> completeData = new HashMap<>();
-        completeData.put("state", "Completed");
-        headers.setContentType(MediaType.valueOf("application/json-patch+json"));
-        HttpEntity<Map<String, Object>> completeRequest = new HttpEntity<>(completeData, headers);
-        restTemplate.exchange(completeUrl, HttpMethod.PATCH, completeRequest, Map.class);
+    private static String outcome(Status status) {
+        return switch (status) {
+            case PASSED -> "Passed";
+            case SKIPPED, PENDING -> "NotExecuted";
+            default -> "Failed";
+        };
     }
 
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-private String extractTestCaseId(Scenario scenario) {
-    Path featurePath = Paths.get("src/test/resources/", 
-        scenario.getUri().toString().replace("classpath:", ""));
-  int rowNumber = 0;
-   String lastPart = scenario.getId().split("-")[2]; // Get last part "123jh"
-   // Extract numeric value from the last part using regex
-   rowNumber = Integer.parseInt(lastPart.replaceAll("[^0-9]", ""));
-   
-   try {
-       List<String> lines = Files.readAllLines(featurePath);
-       int headerIndex = -1;
-       int testIdColumnIndex = -1;
-       
-       for (int i = 0; i < lines.size(); i++) {
-           String line = lines.get(i).trim();
-           if (line.contains("| testId |")) {
-               String[] columns = line.split("\\|");
-               for (int j = 0; j < columns.length; j++) {
-                   if (columns[j].trim().equals("testId")) {
-                       testIdColumnIndex = j;
-                       headerIndex = i;
-                       break;
-                   }
-               }
-               break;
-           }
-       }
-       
-       if (headerIndex != -1 && testIdColumnIndex != -1) {
-           String dataLine = lines.get(headerIndex + rowNumber).trim();
-           String[] cells = dataLine.split("\\|");
-           return cells[testIdColumnIndex].trim();
-       }
-   } catch (IOException e) {
-       throw new RuntimeException("Failed to read feature file", e);
-   }
-   return null;
+    private static String taggedTestCaseId(Scenario scenario) {
+        return scenario.getSourceTagNames().stream()
+                .filter(tag -> tag.startsWith("@TC"))
+                .findFirst()
+                .map(tag -> tag.substring(3))
+                .orElse(null);
+    }
 }
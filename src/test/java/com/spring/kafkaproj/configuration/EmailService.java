@@ -1,40 +1,48 @@
+package com.spring.kafkaproj.configuration;
+
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import javax.mail.internet.MimeMessage;
-import java.io.File;
 import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+// JavaMailSender is only configured when a mail host is set
 @Service
+@ConditionalOnProperty(prefix = "spring.mail", name = "host")
 @Slf4j
 public class EmailService {
 
     @Autowired
     private JavaMailSender emailSender;
 
-    public void sendReportByEmail(String to) {
+    @Value("${report.mail.from:}")
+    private String from;
+
+    public void sendReportByEmail(String to, ScenarioResultLog.RenderedReport report) {
         try {
             MimeMessage message = emailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
-            // Read the Extent Report HTML file
-            String reportPath = "test-output/SparkReport/Spark.html";
-            String reportContent = new String(Files.readAllBytes(new File(reportPath).toPath()));
+            // The summary goes in the body, the full report can be too large for it
+            String reportContent = Files.readString(report.summary());
 
             // Create email content with embedded styles
             String emailContent = createEmailTemplate(reportContent);
 
-            helper.setFrom("your-email@company.com");
+            helper.setFrom(from);
             helper.setTo(to);
             helper.setSubject("Test Automation Report - " + getCurrentDateTime());
             helper.setText(emailContent, true); // true indicates HTML content
 
             // Attach the original report as a file (optional)
-            FileSystemResource file = new FileSystemResource(new File(reportPath));
+            FileSystemResource file = new FileSystemResource(report.html());
             helper.addAttachment("TestReport.html", file);
 
             emailSender.send(message);
@@ -0,0 +1,139 @@
+package com.spring.kafkaproj.configuration;
+
+import com.spring.kafkaproj.warmup.GherkinTableRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Examples rows of every outline, with the test case ID from the {@code testId} column of their
+ * Examples table if it has one. Every feature file is parsed once: the features directory at
+ * startup, any other file on its first lookup. A scenario from an outline is looked up by its
+ * feature URI and the line of its Examples row, which is what Cucumber reports as the scenario
+ * line.
+ */
+@Component
+@Slf4j
+public class FeatureTestCaseIndex implements InitializingBean {
+
+    private static final String TEST_ID_COLUMN = "testId";
+
+    // Feature file to its Examples rows by line
+    private final Map<Path, Map<Integer, ExamplesRow>> rows = new ConcurrentHashMap<>();
+
+    @Value("${azure.testplan.features-dir:src/test/resources/features}")
+    private String featuresDir;
+
+    @Override
+    public void afterPropertiesSet() {
+        Path dir = Path.of(featuresDir);
+        if (!Files.isDirectory(dir)) {
+            log.debug("No feature directory at {}, feature files are indexed on first lookup", dir);
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.filter(path -> path.toString().endsWith(".feature"))
+                    .forEach(file -> rows.computeIfAbsent(file.toAbsolutePath().normalize(), this::index));
+        } catch (IOException e) {
+            log.warn("Error indexing feature files in {}: {}", dir, e.getMessage());
+        }
+        log.debug("Indexed Examples rows of {} feature files", rows.size());
+    }
+
+    /**
+     * Returns the Examples row at {@code line}, or null when the line is not a row of an
+     * Examples table.
+     */
+    public ExamplesRow rowAt(URI featureUri, int line) {
+        Path file = pathOf(featureUri);
+        return file == null ? null : rows.computeIfAbsent(file, this::index).get(line);
+    }
+
+    private static Path pathOf(URI featureUri) {
+        if (featureUri.getScheme() == null) {
+            return Path.of(featureUri.getPath()).toAbsolutePath().normalize();
+        }
+        return switch (featureUri.getScheme()) {
+            case "file" -> Path.of(featureUri).toAbsolutePath().normalize();
+            case "classpath" -> Path.of("src/test/resources", featureUri.getSchemeSpecificPart())
+                    .toAbsolutePath().normalize();
+            default -> null;
+        };
+    }
+
+    private Map<Integer, ExamplesRow> index(Path file) {
+        try {
+            return index(Files.readAllLines(file));
+        } catch (IOException e) {
+            log.warn("Error reading feature file {}: {}", file, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static Map<Integer, ExamplesRow> index(List<String> lines) {
+        // Row line to its test case ID, or null, for each outline in turn
+        Map<Integer, Map<Integer, String>> outlines = new HashMap<>();
+        Map<Integer, String> outline = null;
+        boolean inExamples = false;
+        boolean header = false;
+        int testIdColumn = -1;
+        for (int i = 0; i < lines.size(); i++) {
+            String trimmed = lines.get(i).trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.startsWith("Examples:") || trimmed.startsWith("Scenarios:")) {
+                inExamples = true;
+                header = true;
+                testIdColumn = -1;
+            } else if (trimmed.startsWith("Scenario") || trimmed.startsWith("Example:")) {
+                outline = new HashMap<>();
+                outlines.put(i + 1, outline);
+                inExamples = false;
+            } else if (!GherkinTableRow.isRow(trimmed)) {
+                // A description may sit between the Examples keyword and its table
+                if (!header) {
+                    inExamples = false;
+                }
+            } else if (inExamples && header) {
+                header = false;
+                testIdColumn = GherkinTableRow.cells(trimmed).indexOf(TEST_ID_COLUMN);
+            } else if (inExamples && outline != null) {
+                List<String> cells = GherkinTableRow.cells(trimmed);
+                String testId = testIdColumn >= 0 && testIdColumn < cells.size() && !cells.get(testIdColumn).isEmpty()
+                        ? cells.get(testIdColumn) : null;
+                // Lines are 1-based in Cucumber
+                outline.put(i + 1, testId);
+            }
+        }
+
+        Map<Integer, ExamplesRow> rows = new HashMap<>();
+        outlines.forEach((outlineLine, outlineRows) -> {
+            Map<String, Integer> testIdRows = new HashMap<>();
+            outlineRows.values().stream().filter(Objects::nonNull).forEach(id -> testIdRows.merge(id, 1, Integer::sum));
+            outlineRows.forEach((line, testId) -> rows.put(line, new ExamplesRow(testId, outlineLine,
+                    outlineRows.size(), testId == null ? 0 : testIdRows.get(testId))));
+        });
+        return Map.copyOf(rows);
+    }
+
+    /**
+     * A row of an outline's Examples. {@code testId} is null when its table has no testId cell
+     * for it. {@code outlineRows} counts the rows of all the outline's Examples tables and
+     * {@code testIdRows} those among them with the same testId.
+     */
+    public record ExamplesRow(String testId, int outlineLine, int outlineRows, int testIdRows) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.spring.kafkaproj.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureTestCaseIndexTest {
+
+    private static final String FEATURE = """
+            Feature: Orders
+
+              @TC100
+              Scenario Outline: Order <orderId> is published
+                When order "<orderId>" is placed
+                Then it is on the "orders" topic
+
+                Examples: First
+                  | orderId |
+                  | ORD-1   |
+                  | ORD-2   |
+
+                Scenarios: Second
+                  | orderId |
+                  | ORD-3   |
+
+              Scenario Outline: Order <orderId> is shipped
+                Then order "<orderId>" is shipped
+
+                Examples:
+                  | orderId | testId |
+                  | ORD-1   | 201    |
+                  | ORD-2   | 202    |
+                  | ORD-3   | 201    |
+                  | ORD-4   |        |
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rowsKnowTheirOutline() throws IOException {
+        URI feature = write();
+        FeatureTestCaseIndex index = new FeatureTestCaseIndex();
+
+        assertThat(index.rowAt(feature, 10)).isEqualTo(new FeatureTestCaseIndex.ExamplesRow(null, 4, 3, 0));
+        assertThat(index.rowAt(feature, 15)).isEqualTo(new FeatureTestCaseIndex.ExamplesRow(null, 4, 3, 0));
+        assertThat(index.rowAt(feature, 22)).isEqualTo(new FeatureTestCaseIndex.ExamplesRow("201", 17, 4, 2));
+        assertThat(index.rowAt(feature, 23)).isEqualTo(new FeatureTestCaseIndex.ExamplesRow("202", 17, 4, 1));
+        assertThat(index.rowAt(feature, 25)).isEqualTo(new FeatureTestCaseIndex.ExamplesRow(null, 17, 4, 0));
+    }
+
+    @Test
+    void headersAndStepsAreNotRows() throws IOException {
+        URI feature = write();
+        FeatureTestCaseIndex index = new FeatureTestCaseIndex();
+
+        assertThat(index.rowAt(feature, 4)).isNull();
+        assertThat(index.rowAt(feature, 9)).isNull();
+        assertThat(index.rowAt(feature, 21)).isNull();
+    }
+
+    private URI write() throws IOException {
+        return Files.writeString(dir.resolve("orders.feature"), FEATURE).toUri();
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring.kafkaproj.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportService {
+
+    private final ObjectProvider<EmailService> emailService;
+
+    @Value("${report.mail.recipients:}")
+    private List<String> recipients;
+
+    public void sendReportAfterExecution(ScenarioResultLog.RenderedReport report) {
+        EmailService sender = emailService.getIfAvailable();
+        if (sender == null || recipients.isEmpty()) {
+            log.info("Report mailing not configured, report is at {}", report.html());
+            return;
+        }
+        try {
+            for (String recipient : recipients) {
+                sender.sendReportByEmail(recipient, report);
+            }
+        } catch (Exception e) {
+            log.error("Failed to send report: {}", e.getMessage(), e);
+        }
+    }
+}
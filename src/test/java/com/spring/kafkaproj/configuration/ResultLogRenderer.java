@@ -0,0 +1,112 @@
+package com.spring.kafkaproj.configuration;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Renders the result log into a full HTML report and a short summary. The log is streamed
+ * twice, once for the totals and once for the rows, so memory does not depend on its size.
+ */
+final class ResultLogRenderer {
+
+    private static final String TABLE_HEADER =
+            "<tr><th>Status</th><th>Scenario</th><th>Location</th><th>Tags</th><th>Duration (ms)</th></tr>\n";
+
+    private final ObjectReader reader;
+    private final int summaryMaxFailures;
+
+    ResultLogRenderer(ObjectMapper objectMapper, int summaryMaxFailures) {
+        this.reader = objectMapper.readerFor(ScenarioResult.class);
+        this.summaryMaxFailures = summaryMaxFailures;
+    }
+
+    ScenarioResultLog.RenderedReport render(Path log, Path html, Path summary) throws IOException {
+        long passed = 0;
+        long failed = 0;
+        long skipped = 0;
+        long durationMs = 0;
+        try (MappingIterator<ScenarioResult> results = reader.readValues(log.toFile())) {
+            while (results.hasNext()) {
+                ScenarioResult result = results.next();
+                switch (outcome(result)) {
+                    case "pass" -> passed++;
+                    case "skip" -> skipped++;
+                    default -> failed++;
+                }
+                durationMs += result.durationMs();
+            }
+        }
+        long total = passed + failed + skipped;
+        String totals = String.format("<p>%d scenarios: %d passed, %d failed, %d skipped, %.1f s in scenarios</p>%n",
+                total, passed, failed, skipped, durationMs / 1000.0);
+
+        createParent(html);
+        createParent(summary);
+        try (MappingIterator<ScenarioResult> results = reader.readValues(log.toFile());
+             Writer htmlOut = Files.newBufferedWriter(html, StandardCharsets.UTF_8);
+             Writer summaryOut = Files.newBufferedWriter(summary, StandardCharsets.UTF_8)) {
+            htmlOut.write(header("Test Report") + totals + "<table>\n" + TABLE_HEADER);
+            summaryOut.write(header("Test Summary") + totals);
+            if (failed > 0) {
+                summaryOut.write("<table>\n" + TABLE_HEADER);
+            }
+            long listedFailures = 0;
+            while (results.hasNext()) {
+                ScenarioResult result = results.next();
+                String row = row(result);
+                htmlOut.write(row);
+                if (outcome(result).equals("fail") && listedFailures++ < summaryMaxFailures) {
+                    summaryOut.write(row);
+                }
+            }
+            htmlOut.write("</table>\n</body>\n</html>\n");
+            if (failed > 0) {
+                summaryOut.write("</table>\n");
+            }
+            if (failed > summaryMaxFailures) {
+                summaryOut.write(String.format("<p>%d more failed scenarios are listed in the full report</p>%n",
+                        failed - summaryMaxFailures));
+            }
+            summaryOut.write("</body>\n</html>\n");
+        }
+        return new ScenarioResultLog.RenderedReport(html, summary, total, passed, failed, skipped);
+    }
+
+    private static String header(String title) {
+        return "<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>" + title + "</title>\n"
+                + "<style>body { font-family: Arial, sans-serif; } table { border-collapse: collapse; }"
+                + " td, th { border: 1px solid #ddd; padding: 4px 8px; text-align: left; }"
+                + " .pass { color: #00af00; } .fail { color: #f44336; } .skip { color: #ff9800; }</style>\n"
+                + "</head>\n<body>\n<h2>" + title + "</h2>\n";
+    }
+
+    private static String row(ScenarioResult result) {
+        return "<tr><td class=\"" + outcome(result) + "\">" + result.status() + "</td><td>"
+                + HtmlUtils.htmlEscape(result.name()) + "</td><td>"
+                + HtmlUtils.htmlEscape(result.uri() + ":" + result.line()) + "</td><td>"
+                + HtmlUtils.htmlEscape(String.join(" ", result.tags())) + "</td><td>"
+                + result.durationMs() + "</td></tr>\n";
+    }
+
+    private static String outcome(ScenarioResult result) {
+        return switch (result.status()) {
+            case "PASSED" -> "pass";
+            case "SKIPPED", "PENDING", "UNUSED" -> "skip";
+            default -> "fail";
+        };
+    }
+
+    private static void createParent(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+    }
+}
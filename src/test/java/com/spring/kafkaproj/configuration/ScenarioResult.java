@@ -0,0 +1,10 @@
+package com.spring.kafkaproj.configuration;
+
+import java.util.List;
+
+/**
+ * One line of the result log. {@code status} is the Cucumber status name.
+ */
+public record ScenarioResult(String name, String uri, int line, String status, List<String> tags,
+                             long startedAt, long durationMs) {
+}
@@ -0,0 +1,116 @@
+package com.spring.kafkaproj.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Results of the run as JSON lines, appended as scenarios finish so nothing about finished
+ * scenarios stays in memory. {@link #complete()} closes the log and renders the reports from it,
+ * and is the signal that the reports can be read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScenarioResultLog implements DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final CompletableFuture<RenderedReport> report = new CompletableFuture<>();
+    private BufferedWriter writer;
+
+    @Value("${report.result-log.file:target/test-results.jsonl}")
+    private String logFile;
+
+    @Value("${report.result-log.html:target/test-report.html}")
+    private String htmlFile;
+
+    @Value("${report.result-log.summary:target/test-summary.html}")
+    private String summaryFile;
+
+    // Failed scenarios listed in the summary, the full report lists all of them
+    @Value("${report.result-log.summary-max-failures:100}")
+    private int summaryMaxFailures;
+
+    public synchronized void append(ScenarioResult result) {
+        if (report.isDone()) {
+            log.warn("Result of scenario {} appended after the report was rendered, not recorded", result.name());
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = open();
+            }
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.newLine();
+            // A run that dies still leaves every finished scenario in the log
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to result log " + logFile, e);
+        }
+    }
+
+    /**
+     * Closes the log, renders the full report and the summary from it and returns them. Later
+     * calls return the same reports.
+     */
+    public synchronized RenderedReport complete() {
+        if (report.isDone()) {
+            return report.join();
+        }
+        try {
+            if (writer == null) {
+                writer = open();
+            }
+            writer.close();
+            RenderedReport rendered = new ResultLogRenderer(objectMapper, summaryMaxFailures)
+                    .render(Path.of(logFile), Path.of(htmlFile), Path.of(summaryFile));
+            report.complete(rendered);
+            log.info("Rendered report of {} scenarios to {}", rendered.total(), rendered.html());
+            return rendered;
+        } catch (IOException e) {
+            report.completeExceptionally(e);
+            throw new UncheckedIOException("Failed to render report from " + logFile, e);
+        }
+    }
+
+    /**
+     * Completes once the reports are rendered.
+     */
+    public CompletableFuture<RenderedReport> report() {
+        return report.copy();
+    }
+
+    @Override
+    public void destroy() {
+        if (!report.isDone()) {
+            try {
+                complete();
+            } catch (RuntimeException e) {
+                log.error("Failed to render report: {}", e.getMessage());
+            }
+        }
+    }
+
+    private BufferedWriter open() throws IOException {
+        Path path = Path.of(logFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // Every run starts a new log
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+
+    public record RenderedReport(Path html, Path summary, long total, long passed, long failed, long skipped) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.kafkaproj.configuration;
+
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Appends every finished scenario to the {@link ScenarioResultLog}. Glue instances are scenario
+ * scoped, so the start time is per scenario even when scenarios run in parallel.
+ */
+@RequiredArgsConstructor
+public class ScenarioResultRecorder {
+
+    private final ScenarioResultLog resultLog;
+    private long startedAt;
+
+    @Before
+    public void start() {
+        startedAt = System.currentTimeMillis();
+    }
+
+    @After
+    public void record(Scenario scenario) {
+        resultLog.append(new ScenarioResult(scenario.getName(), scenario.getUri().toString(), scenario.getLine(),
+                scenario.getStatus().name(), List.copyOf(scenario.getSourceTagNames()), startedAt,
+                System.currentTimeMillis() - startedAt));
+    }
+}
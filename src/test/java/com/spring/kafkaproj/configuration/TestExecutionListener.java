@@ -0,0 +1,29 @@
+package com.spring.kafkaproj.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+
+/**
+ * Registered in testng.xml, so TestNG creates it and the beans come from the context the
+ * scenarios ran in.
+ */
+@Slf4j
+public class TestExecutionListener implements ITestListener {
+
+    @Override
+    public void onFinish(ITestContext context) {
+        ApplicationContext applicationContext = ApplicationContextHolder.get();
+        if (applicationContext == null) {
+            log.info("No scenario started a Spring context, no report to send");
+            return;
+        }
+
+        // Returns once the report is rendered from the result log
+        ScenarioResultLog.RenderedReport report = applicationContext.getBean(ScenarioResultLog.class).complete();
+
+        // Send the report
+        applicationContext.getBean(ReportService.class).sendReportAfterExecution(report);
+    }
+}
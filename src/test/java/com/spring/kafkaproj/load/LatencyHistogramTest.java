@@ -0,0 +1,98 @@
+package com.spring.kafkaproj.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentile(99)).isZero();
+        assertThat(histogram.snapshot()).isEqualTo(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.count()).isEqualTo(50);
+        assertThat(histogram.percentile(50)).isEqualTo(25);
+        assertThat(histogram.percentile(100)).isEqualTo(50);
+        assertThat(histogram.percentile(0)).isEqualTo(1);
+    }
+
+    @Test
+    void percentilesAreWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat((double) histogram.percentile(50)).isCloseTo(50_000_000, within(1_500_000.0));
+        assertThat((double) histogram.percentile(99)).isCloseTo(99_000_000, within(2_970_000.0));
+        assertThat((double) histogram.percentile(99.9)).isCloseTo(99_900_000, within(2_997_000.0));
+        assertThat(histogram.percentile(50)).isGreaterThanOrEqualTo(50_000_000);
+    }
+
+    @Test
+    void percentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertThat(histogram.percentile(50)).isEqualTo(1_000_001);
+        assertThat(histogram.percentile(100)).isEqualTo(1_000_001);
+    }
+
+    @Test
+    void extremesAreRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.percentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void snapshotIsInMilliseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(4));
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.mean()).isEqualTo(3.0);
+        assertThat(snapshot.max()).isEqualTo(4.0);
+        assertThat(snapshot.p50()).isCloseTo(2.0, within(0.06));
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.count()).isEqualTo(40_000);
+        assertThat(histogram.snapshot().mean()).isEqualTo(0.005);
+    }
+}
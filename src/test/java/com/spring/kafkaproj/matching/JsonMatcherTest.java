@@ -0,0 +1,49 @@
+package com.spring.kafkaproj.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonMatcherTest {
+
+    @Test
+    void exactExpectationsAreIndexKeys() {
+        assertThat(JsonMatcher.of(Map.of("$.id", "ORD-1"), ValueComparator.TYPED).indexKey("$.id")).isEqualTo("ORD-1");
+        assertThat(JsonMatcher.of(Map.of("$.id", "ORD-1"), ValueComparator.EXACT_TEXT).indexKey("id")).isEqualTo("ORD-1");
+        assertThat(JsonMatcher.of(Map.of("$.id", "007"), ValueComparator.EXACT_TEXT).indexKey("$.id")).isEqualTo("007");
+    }
+
+    @Test
+    void expectationsWithSeveralKeyFormsAreNotIndexed() {
+        for (String expected : new String[]{"regex:ORD-.*", "null", "<null>", "007", "1.50", "true"}) {
+            JsonMatcher matcher = JsonMatcher.of(Map.of("$.id", expected), ValueComparator.TYPED);
+            assertThat(matcher.indexKey("$.id")).as(expected).isNull();
+        }
+        assertThat(JsonMatcher.of(Map.of("$.id", "null"), ValueComparator.EXACT_TEXT).indexKey("$.id")).isNull();
+    }
+
+    @Test
+    void uncheckedPathHasNoIndexKey() {
+        assertThat(JsonMatcher.of(Map.of("$.id", "ORD-1"), ValueComparator.TYPED).indexKey("$.other")).isNull();
+    }
+
+    @Test
+    void indexKeyIsWhatTheExtractorReadsFromEveryMatch() {
+        JsonKeyExtractor extractor = JsonKeyExtractor.compile("$.id");
+        String[][] cases = {
+                {"ORD-1", "{\"id\":\"ORD-1\"}"},
+                {"42", "{\"id\":42}"},
+                {"42", "{\"id\":\"42\"}"},
+                {"4.5", "{\"id\":4.5}"},
+                {"true", "{\"id\":true}"},
+        };
+        for (String[] testCase : cases) {
+            JsonMatcher matcher = JsonMatcher.of(Map.of("$.id", testCase[0]), ValueComparator.EXACT_TEXT);
+            byte[] record = testCase[1].getBytes();
+            assertThat(matcher.matches(record)).as(testCase[1]).isTrue();
+            assertThat(extractor.extract(record)).as(testCase[1]).isEqualTo(matcher.indexKey("$.id"));
+        }
+    }
+}
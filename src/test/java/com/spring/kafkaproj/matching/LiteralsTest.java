@@ -0,0 +1,50 @@
+package com.spring.kafkaproj.matching;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiteralsTest {
+
+    @Test
+    void integers() {
+        assertThat(Literals.isInteger("0")).isTrue();
+        assertThat(Literals.isInteger("-42")).isTrue();
+        assertThat(Literals.isInteger("007")).isTrue();
+        assertThat(Literals.isInteger("")).isFalse();
+        assertThat(Literals.isInteger("-")).isFalse();
+        assertThat(Literals.isInteger("+1")).isFalse();
+        assertThat(Literals.isInteger("4.2")).isFalse();
+        assertThat(Literals.isInteger("1e3")).isFalse();
+    }
+
+    @Test
+    void decimals() {
+        assertThat(Literals.isDecimal("4.20")).isTrue();
+        assertThat(Literals.isDecimal("-0.5")).isTrue();
+        assertThat(Literals.isDecimal("42")).isFalse();
+        assertThat(Literals.isDecimal(".5")).isFalse();
+        assertThat(Literals.isDecimal("5.")).isFalse();
+        assertThat(Literals.isDecimal("1.2.3")).isFalse();
+        assertThat(Literals.isDecimal("-.5")).isFalse();
+    }
+
+    @Test
+    void booleans() {
+        assertThat(Literals.isBoolean("true")).isTrue();
+        assertThat(Literals.isBoolean("False")).isTrue();
+        assertThat(Literals.isBoolean("yes")).isFalse();
+        assertThat(Literals.isBoolean("")).isFalse();
+    }
+
+    @Test
+    void sameTextComparesASlice() {
+        char[] text = "xxORD-1yy".toCharArray();
+
+        assertThat(Literals.sameText("ORD-1", text, 2, 5)).isTrue();
+        assertThat(Literals.sameText("ORD-2", text, 2, 5)).isFalse();
+        assertThat(Literals.sameText("ORD-1", text, 2, 6)).isFalse();
+        assertThat(Literals.sameTextIgnoreCase("ord-1", text, 2, 5)).isTrue();
+        assertThat(Literals.sameText("ord-1", text, 2, 5)).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring.kafkaproj.matching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingFieldMatcherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void duplicateKeyCountsOnce() throws IOException {
+        StreamingFieldMatcher matcher = compile("$.id", "1", "$.status", "Y");
+
+        assertThat(matcher.matches("{\"id\":1,\"id\":1,\"status\":\"X\"}")).isFalse();
+        assertThat(matcher.matches("{\"id\":1,\"id\":1}")).isFalse();
+        assertThat(matcher.matches("{\"id\":1,\"id\":1,\"status\":\"Y\"}")).isTrue();
+    }
+
+    @Test
+    void mismatchingDuplicateKeyFails() throws IOException {
+        StreamingFieldMatcher matcher = compile("$.id", "1", "$.status", "Y");
+
+        assertThat(matcher.matches("{\"id\":1,\"id\":2,\"status\":\"Y\"}")).isFalse();
+    }
+
+    @Test
+    void matchesNestedFieldsAndArrayIndexes() throws IOException {
+        StreamingFieldMatcher matcher = compile("$.order.id", "ORD-1", "$.order.items[1].sku", "B", "$['total']", "9.5");
+
+        assertThat(matcher.matches("{\"skip\":{\"a\":[1,{\"b\":2}]},\"order\":{\"id\":\"ORD-1\","
+                + "\"items\":[{\"sku\":\"A\"},{\"sku\":\"B\"}]},\"total\":9.5}")).isTrue();
+        assertThat(matcher.matches("{\"order\":{\"id\":\"ORD-1\",\"items\":[{\"sku\":\"B\"}]},\"total\":9.5}")).isFalse();
+        assertThat(matcher.matches("{\"order\":[],\"total\":9.5}")).isFalse();
+    }
+
+    @Test
+    void missingFieldDoesNotMatch() throws IOException {
+        StreamingFieldMatcher matcher = compile("$.id", "1", "$.status", "Y");
+
+        assertThat(matcher.matches("{\"id\":1}")).isFalse();
+        assertThat(matcher.matches("[]")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+    }
+
+    @Test
+    void matchesSliceOfBuffer() throws IOException {
+        StreamingFieldMatcher matcher = compile("$.id", "1");
+        byte[] buffer = "xx{\"id\":1}yy".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(matcher.matches(buffer, 2, buffer.length - 4)).isTrue();
+    }
+
+    @Test
+    void pathsNeedingJsonPathAreNotCompiled() {
+        assertThat(compile("$.items[*].sku", "A")).isNull();
+        assertThat(compile("$..sku", "A")).isNull();
+        assertThat(compile("$.items[?(@.sku == 'A')]", "A")).isNull();
+        assertThat(compile("$.order", "A", "$.order.id", "1")).isNull();
+    }
+
+    @Test
+    void segmentsOfDefinitePaths() {
+        assertThat(StreamingFieldMatcher.segments("$.order.items[2]['sku']")).containsExactly("order", "items", 2, "sku");
+        assertThat(StreamingFieldMatcher.segments("$.items[*]")).isNull();
+        assertThat(StreamingFieldMatcher.segments("order.id")).isNull();
+    }
+
+    private static StreamingFieldMatcher compile(String... pathsAndValues) {
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < pathsAndValues.length; i += 2) {
+            expected.put(pathsAndValues[i], pathsAndValues[i + 1]);
+        }
+        List<JsonMatcher.FieldExpectation> fields = new ArrayList<>();
+        expected.forEach((path, value) -> fields.add(new JsonMatcher.FieldExpectation(path, JsonPaths.compile(path),
+                value, ValueComparator.TYPED.compile(value))));
+        return StreamingFieldMatcher.compile(fields, MAPPER);
+    }
+}
@@ -0,0 +1,121 @@
+package com.spring.kafkaproj.matching;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypedComparatorTest {
+
+    private final ValueComparator comparator = ValueComparator.TYPED;
+
+    @Test
+    void nullExpectations() {
+        for (String expected : new String[]{"null", "NULL", "<null>"}) {
+            ValueMatcher matcher = comparator.compile(expected);
+            assertThat(matcher.matches(null)).as(expected).isTrue();
+            assertThat(matcher.matchesNull()).as(expected).isTrue();
+            assertThat(matcher.matches("null")).as(expected).isFalse();
+        }
+    }
+
+    @Test
+    void integersCompareNumerically() {
+        ValueMatcher matcher = comparator.compile("42");
+
+        assertThat(matcher.matchesLong(42)).isTrue();
+        assertThat(matcher.matchesDouble(42.0)).isTrue();
+        assertThat(matcher.matches(42)).isTrue();
+        assertThat(matcher.matches(new BigDecimal("42.00"))).isTrue();
+        assertThat(text(matcher, "42")).isTrue();
+        assertThat(text(matcher, "+42")).isTrue();
+        assertThat(text(matcher, "042")).isTrue();
+        assertThat(matcher.matchesLong(43)).isFalse();
+        assertThat(text(matcher, "42a")).isFalse();
+        assertThat(text(matcher, "")).isFalse();
+        assertThat(matcher.matchesBoolean(true)).isFalse();
+    }
+
+    @Test
+    void negativeIntegersAndOverflow() {
+        assertThat(text(comparator.compile("-7"), "-7")).isTrue();
+        assertThat(comparator.compile("-7").matchesLong(-7)).isTrue();
+        assertThat(text(comparator.compile(Long.toString(Long.MIN_VALUE)), Long.toString(Long.MIN_VALUE))).isTrue();
+        assertThat(text(comparator.compile("1"), "99999999999999999999")).isFalse();
+    }
+
+    @Test
+    void integersBeyondLongCompareAsDecimals() {
+        String big = "123456789012345678901234567890";
+        ValueMatcher matcher = comparator.compile(big);
+
+        assertThat(matcher.matches(new BigInteger(big))).isTrue();
+        assertThat(text(matcher, big)).isTrue();
+        assertThat(text(matcher, big + "1")).isFalse();
+    }
+
+    @Test
+    void decimalsCompareNumerically() {
+        ValueMatcher matcher = comparator.compile("1.50");
+
+        assertThat(matcher.matchesDouble(1.5)).isTrue();
+        assertThat(matcher.matches(1.5f)).isTrue();
+        assertThat(text(matcher, "1.5")).isTrue();
+        assertThat(comparator.compile("2.0").matchesLong(2)).isTrue();
+        assertThat(matcher.matchesDouble(1.51)).isFalse();
+        assertThat(text(matcher, "one")).isFalse();
+    }
+
+    @Test
+    void booleansIgnoreCase() {
+        ValueMatcher matcher = comparator.compile("TRUE");
+
+        assertThat(matcher.matchesBoolean(true)).isTrue();
+        assertThat(matcher.matches(Boolean.TRUE)).isTrue();
+        assertThat(text(matcher, "true")).isTrue();
+        assertThat(matcher.matchesBoolean(false)).isFalse();
+        assertThat(text(matcher, "yes")).isFalse();
+    }
+
+    @Test
+    void regexMatchesWholeText() {
+        ValueMatcher matcher = comparator.compile("regex:ORD-\\d+");
+
+        assertThat(text(matcher, "ORD-12")).isTrue();
+        assertThat(text(matcher, "xORD-12")).isFalse();
+        assertThat(comparator.compile("regex:4\\d").matchesLong(42)).isTrue();
+        assertThat(comparator.compile("regex:t.*").matchesBoolean(true)).isTrue();
+    }
+
+    @Test
+    void stringsMatchExactly() {
+        ValueMatcher matcher = comparator.compile("ORD-1");
+
+        assertThat(text(matcher, "ORD-1")).isTrue();
+        assertThat(matcher.matches("ORD-1")).isTrue();
+        assertThat(text(matcher, "ord-1")).isFalse();
+        assertThat(comparator.compile("1e3").matchesDouble(1000.0)).isFalse();
+        assertThat(comparator.compile("1000.0e0").matchesDouble(1000.0)).isFalse();
+    }
+
+    @Test
+    void onlyPlainStringsHaveAnIndexKey() {
+        assertThat(comparator.compile("ORD-1").indexKey()).isEqualTo("ORD-1");
+        for (String expected : new String[]{"null", "42", "1.50", "true", "regex:.*", "123456789012345678901234567890"}) {
+            assertThat(comparator.compile(expected).indexKey()).as(expected).isNull();
+        }
+    }
+
+    @Test
+    void matchesCompilesTheExpectation() {
+        assertThat(comparator.matches(42L, "42")).isTrue();
+        assertThat(comparator.matches("ORD-1", "ORD-2")).isFalse();
+    }
+
+    private static boolean text(ValueMatcher matcher, String actual) {
+        char[] buffer = ("[" + actual + "]").toCharArray();
+        return matcher.matchesText(buffer, 1, actual.length());
+    }
+}
@@ -0,0 +1,34 @@
+package com.spring.kafkaproj.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TopicMetrics metrics = new HarnessMetrics(registry).forTopic("orders");
+
+    @Test
+    void verificationOutcomeFollowsTheFailure() {
+        long start = System.nanoTime();
+        metrics.verified(null, start);
+        metrics.verified(new TimeoutException(), start);
+        metrics.verified(new CompletionException(new TimeoutException()), start);
+        metrics.verified(new CancellationException(), start);
+        metrics.verified(new IllegalStateException("tailer stopped"), start);
+
+        assertThat(verifications("matched")).isEqualTo(1);
+        assertThat(verifications("timeout")).isEqualTo(2);
+        assertThat(verifications("error")).isEqualTo(2);
+    }
+
+    private long verifications(String outcome) {
+        return registry.get("kafka.verification").tags("topic", "orders", "outcome", outcome).timer().count();
+    }
+}
@@ -3,10 +3,11 @@ package com.spring.kafkaproj.runner;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
 
 @CucumberOptions(
         features = "src/test/resources/features",
-        glue = {"com.spring.kafkaproj.steps"},
+        glue = {"com.spring.kafkaproj.steps", "com.spring.kafkaproj.configuration"},
         plugin = {
                 "pretty",
                 "html:target/cucumber-reports/cucumber.html",
@@ -15,7 +16,9 @@ import io.cucumber.testng.CucumberOptions;
 )
 public class CucumberTestNGRunner extends AbstractTestNGCucumberTests {
 
+    // Scenarios run concurrently, pool size comes from the dataproviderthreadcount surefire property
     @Override
+    @DataProvider(parallel = true)
     public Object[][] scenarios() {
         return super.scenarios();
     }
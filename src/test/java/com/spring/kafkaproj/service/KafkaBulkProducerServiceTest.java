@@ -0,0 +1,45 @@
+package com.spring.kafkaproj.service;
+
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KafkaBulkProducerServiceTest {
+
+    private static final String TOPIC = "orders";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendRejectedSynchronouslyIsCountedAsFailed() {
+        KafkaTemplate<String, byte[]> template = mock(KafkaTemplate.class);
+        byte[] tooLarge = new byte[]{2};
+        RecordTooLargeException rejected = new RecordTooLargeException("too large");
+        when(template.send(eq(TOPIC), any(byte[].class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(template.send(TOPIC, tooLarge)).thenThrow(rejected);
+        KafkaBulkProducerService service = new KafkaBulkProducerService(template,
+                new HarnessMetrics(new SimpleMeterRegistry()));
+        // Fewer permits than payloads: a leaked permit would block the sends after it
+        ReflectionTestUtils.setField(service, "maxInFlight", 2);
+        ReflectionTestUtils.setField(service, "sendTimeoutSeconds", 1L);
+
+        BulkSendResult result = service.sendAll(TOPIC, List.of(new byte[]{1}, tooLarge, tooLarge, new byte[]{3}));
+
+        assertThat(result.sent()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.firstFailure()).isSameAs(rejected);
+    }
+}
@@ -0,0 +1,84 @@
+package com.spring.kafkaproj.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import com.spring.kafkaproj.tailer.BoundedScanner;
+import com.spring.kafkaproj.tailer.OffsetResolver;
+import com.spring.kafkaproj.tailer.StartPosition;
+import com.spring.kafkaproj.tailer.TopicTailer;
+import com.spring.kafkaproj.tailer.TopicTailerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Which key verifications register under on a tailer indexed by {@code $.orderId}.
+ */
+class KafkaConsumerServiceTest {
+
+    private static final String TOPIC = "orders";
+
+    private final TopicTailer tailer = mock(TopicTailer.class);
+    private KafkaConsumerService service;
+
+    @BeforeEach
+    void createService() {
+        TopicTailerRegistry tailerRegistry = mock(TopicTailerRegistry.class);
+        when(tailerRegistry.tailerFor(TOPIC)).thenReturn(tailer);
+        when(tailer.getKeyPath()).thenReturn("$.orderId");
+        when(tailer.await(any(), any(), anyInt(), any())).thenReturn(new CompletableFuture<>());
+        service = new KafkaConsumerService(tailerRegistry, mock(OffsetResolver.class), new ObjectMapper(),
+                mock(BoundedScanner.class), new HarnessMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void regexOnKeyPathIsNotKeyed() {
+        service.verifyMessageAsync(TOPIC, matcher("regex:ORD-.*"), StartPosition.buffered(), 1);
+
+        verify(tailer).await(any(), any(), eq(1), isNull());
+    }
+
+    @Test
+    void exactKeyIsKeyed() {
+        service.verifyMessageAsync(TOPIC, matcher("ORD-1"), StartPosition.buffered(), 1);
+
+        verify(tailer).await(any(), any(), eq(1), eq("ORD-1"));
+    }
+
+    @Test
+    void blockingVerificationIsKeyed() {
+        ConsumerRecord<byte[], byte[]> record = new ConsumerRecord<>(TOPIC, 0, 0, null, new byte[0]);
+        when(tailer.await(any(), any(), eq(1), eq("ORD-1"))).thenReturn(CompletableFuture.completedFuture(List.of(record)));
+
+        assertThat(service.verifyMessage(TOPIC, matcher("ORD-1"), StartPosition.buffered(), 1)).isTrue();
+    }
+
+    @Test
+    void lenientNumericKeyIsNotKeyed() {
+        service.verifyMessageAsync(TOPIC, matcher("007"), StartPosition.buffered(), 1);
+        service.verifyMessageAsync(TOPIC, matcher("1.50"), StartPosition.buffered(), 1);
+
+        verify(tailer, times(2)).await(any(), any(), eq(1), isNull());
+    }
+
+    private static JsonMatcher matcher(String orderId) {
+        return JsonMatcher.of(Map.of("$.orderId", orderId, "$.status", "NEW"), ValueComparator.TYPED);
+    }
+}
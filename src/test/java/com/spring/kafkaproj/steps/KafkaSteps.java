@@ -1,26 +1,41 @@
 package com.spring.kafkaproj.steps;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.PathNotFoundException;
+import com.spring.kafkaproj.aggregate.AggregateResult;
+import com.spring.kafkaproj.aggregate.CountAggregate;
+import com.spring.kafkaproj.aggregate.DistinctKeyAggregate;
+import com.spring.kafkaproj.aggregate.RecordAggregate;
+import com.spring.kafkaproj.aggregate.SumAggregate;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.service.BulkSendResult;
+import com.spring.kafkaproj.service.Expectation;
+import com.spring.kafkaproj.service.ExpectationResult;
+import com.spring.kafkaproj.service.KafkaBulkProducerService;
 import com.spring.kafkaproj.service.KafkaConsumerService;
+import com.spring.kafkaproj.service.KafkaLoadGeneratorService;
 import com.spring.kafkaproj.service.KafkaProducerService;
+import com.spring.kafkaproj.service.LoadResult;
+import com.spring.kafkaproj.service.SendReceipt;
+import com.spring.kafkaproj.tailer.StartPosition;
+import com.spring.kafkaproj.template.PayloadGenerator;
+import com.spring.kafkaproj.template.PayloadModifications;
+import com.spring.kafkaproj.template.PayloadTemplate;
+import com.spring.kafkaproj.template.PayloadTemplates;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.FileCopyUtils;
 import org.testng.Assert;
 
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -28,40 +43,114 @@ public class KafkaSteps {
 
     private final KafkaProducerService producerService;
     private final KafkaConsumerService consumerService;
-    private final ObjectMapper objectMapper;
-    private final ResourceLoader resourceLoader;
+    private final KafkaBulkProducerService bulkProducerService;
+    private final KafkaLoadGeneratorService loadGeneratorService;
+    private final PayloadTemplates payloadTemplates;
 
     @Value("${test.kafka.timeout-seconds:90}")
     private long timeoutSeconds;
 
+    @Value("${test.kafka.window-seconds:10}")
+    private long windowSeconds;
+
+    @Value("${test.kafka.clock-skew-ms:5000}")
+    private long clockSkewMs;
+
+    // Verifications only look at records written after the scenario first produced
+    private Long firstSendTimestamp;
+
+    private LoadResult lastLoad;
+
     @Given("I send {string} to {string} kafka topic")
-    public void sendJsonToKafkaTopic(String jsonFile, String topic, io.cucumber.datatable.DataTable dataTable) throws Exception {
-        // Load JSON from payload directory
-        String jsonString = loadJsonFromPayloadFile(jsonFile);
-        log.info("Loaded JSON template: {}", jsonString);
+    public void sendJsonToKafkaTopic(String jsonFile, String topic, io.cucumber.datatable.DataTable dataTable) {
+        // Load JSON from payload directory, parsed once per run
+        PayloadTemplate template = payloadTemplates.get(jsonFile);
 
-        Map<String, String> modifications = dataTable.asMap(String.class, String.class);
-        for (Map.Entry<String, String> entry : modifications.entrySet()) {
-            jsonString = updateJsonValue(jsonString, entry.getKey(), entry.getValue());
+        PayloadModifications modifications = PayloadModifications.compile(dataTable.asMap(String.class, String.class));
+        byte[] payload = template.render(modifications);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Sending modified JSON: {}", new String(payload, StandardCharsets.UTF_8));
         }
+        SendReceipt receipt = producerService.sendMessage(topic, payload);
+        log.info("Message from {} sent to topic {} partition {} offset {}",
+                template.getName(), topic, receipt.partition(), receipt.offset());
+        if (firstSendTimestamp == null) {
+            firstSendTimestamp = receipt.timestamp();
+        }
+    }
 
-        log.info("Sending modified JSON: {}", jsonString);
-        producerService.sendMessage(topic, jsonString);
+    @Given("I send {string} to {string} kafka topic for each row")
+    public void sendJsonToKafkaTopicForEachRow(String jsonFile, String topic, io.cucumber.datatable.DataTable dataTable) {
+        PayloadTemplate template = payloadTemplates.get(jsonFile);
+        List<byte[]> payloads = new ArrayList<>();
+        for (Map<String, String> row : dataTable.asMaps(String.class, String.class)) {
+            payloads.add(template.render(PayloadModifications.compile(row)));
+        }
+        sendInBulk(topic, payloads);
     }
 
-    private String loadJsonFromPayloadFile(String jsonFile) throws Exception {
-        String filePath = jsonFile.startsWith("/") ? jsonFile : "/payload/" + jsonFile;
-        Resource resource = resourceLoader.getResource("classpath:" + filePath);
+    @Given("I send {int} variants of {string} to {string} kafka topic")
+    public void sendJsonVariantsToKafkaTopic(int count, String jsonFile, String topic, io.cucumber.datatable.DataTable dataTable) {
+        PayloadTemplate template = payloadTemplates.get(jsonFile);
+        Map<String, String> modifications = dataTable.asMap(String.class, String.class);
+
+        // Variants are rendered lazily while the producer pipelines the previous ones
+        Iterable<byte[]> payloads = () -> IntStream.range(0, count)
+                .mapToObj(index -> template.render(PayloadModifications.compile(withIndex(modifications, index))))
+                .iterator();
+        sendInBulk(topic, payloads);
+    }
+
+    /**
+     * The table maps JSON paths to generator specs such as {@code ORD-${seq}}, {@code ${random:1..500}},
+     * {@code ${uuid}} or {@code ${timestamp}}, see {@link com.spring.kafkaproj.template.FieldGenerator}.
+     */
+    @Given("I produce {int} messages per second from {string} to {string} kafka topic for {int} seconds")
+    public void produceGeneratedLoad(int ratePerSecond, String jsonFile, String topic, int seconds,
+                                     io.cucumber.datatable.DataTable dataTable) {
+        generateLoad(topic, jsonFile, dataTable, (long) ratePerSecond * seconds, ratePerSecond);
+    }
+
+    @Given("I produce {int} messages from {string} to {string} kafka topic as fast as possible")
+    public void produceGeneratedLoadAtMaxSpeed(int count, String jsonFile, String topic,
+                                               io.cucumber.datatable.DataTable dataTable) {
+        generateLoad(topic, jsonFile, dataTable, count, 0);
+    }
+
+    @Then("the generated load should have a p99 latency below {int} ms")
+    public void generatedLoadP99LatencyBelow(int maxMillis) {
+        Assert.assertNotNull(lastLoad, "No load was generated in this scenario");
+        Assert.assertTrue(lastLoad.latency().p99() < maxMillis, "Generated load p99 latency was "
+                + lastLoad.latency().p99() + " ms, expected below " + maxMillis + " ms");
+    }
+
+    private void generateLoad(String topic, String jsonFile, io.cucumber.datatable.DataTable dataTable,
+                              long count, double ratePerSecond) {
+        PayloadGenerator generator = PayloadGenerator.compile(payloadTemplates.get(jsonFile),
+                dataTable.asMap(String.class, String.class));
+        if (firstSendTimestamp == null) {
+            firstSendTimestamp = System.currentTimeMillis();
+        }
+        lastLoad = loadGeneratorService.generate(topic, generator, count, ratePerSecond);
+        Assert.assertTrue(lastLoad.isSuccessful(), "Generated load on topic " + topic + " had " + lastLoad.failed()
+                + " failed messages, first failure: " + lastLoad.firstFailure());
+    }
 
-        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
-            String content = FileCopyUtils.copyToString(reader);
-            // Validate that it's a valid JSON
-            objectMapper.readTree(content);
-            return content;
-        } catch (Exception e) {
-            log.error("Error loading JSON file {}: {}", filePath, e.getMessage());
-            throw new RuntimeException("Error loading JSON payload: " + filePath, e);
+    private void sendInBulk(String topic, Iterable<byte[]> payloads) {
+        if (firstSendTimestamp == null) {
+            firstSendTimestamp = System.currentTimeMillis();
         }
+        BulkSendResult result = bulkProducerService.sendAll(topic, payloads);
+        Assert.assertTrue(result.isSuccessful(), "Bulk send to topic " + topic + " had " + result.failed()
+                + " failed messages, first failure: " + result.firstFailure());
+    }
+
+    private Map<String, String> withIndex(Map<String, String> modifications, int index) {
+        Map<String, String> indexed = new LinkedHashMap<>();
+        modifications.forEach((path, value) ->
+                indexed.put(path, value == null ? null : value.replace("{index}", String.valueOf(index))));
+        return indexed;
     }
 
     @Then("I should find matching message in {string} topic")
@@ -69,11 +158,8 @@ public class KafkaSteps {
         Map<String, String> expectedValues = dataTable.asMap(String.class, String.class);
         log.info("Searching in topic: {} with expected values: {}", topic, expectedValues);
 
-        boolean found = consumerService.consumeMessage(
-                topic,
-                message -> matchesExpectedValues(message, expectedValues),
-                timeoutSeconds
-        );
+        JsonMatcher matcher = JsonMatcher.of(expectedValues, ValueComparator.TYPED);
+        boolean found = consumerService.verifyMessage(topic, matcher, startPosition(), timeoutSeconds);
 
         if (!found) {
             log.error("Failed to find message matching expected values: {}", expectedValues);
@@ -82,111 +168,78 @@ public class KafkaSteps {
         Assert.assertTrue(found, "Message with expected values not found within timeout");
     }
 
-    private String updateJsonValue(String jsonString, String path, String value) {
-        try {
-            // Handle null or "null" string values
-            if (value == null || value.equalsIgnoreCase("null")) {
-                return JsonPath.parse(jsonString)
-                        .set(normalizePath(path), null)
-                        .jsonString();
-            }
-
-            // Handle empty string
-            if (value.isEmpty()) {
-                return JsonPath.parse(jsonString)
-                        .set(normalizePath(path), "")
-                        .jsonString();
-            }
+    @Then("I should not find matching message in {string} topic")
+    public void findNoMatchingMessageInTopic(String topic, io.cucumber.datatable.DataTable dataTable) {
+        Map<String, String> unexpectedValues = dataTable.asMap(String.class, String.class);
+        log.info("Checking topic {} has no message with values: {}", topic, unexpectedValues);
 
-            // Handle numeric values
-            if (value.matches("-?\\d+(\\.\\d+)?")) {
-                if (value.contains(".")) {
-                    return JsonPath.parse(jsonString)
-                            .set(normalizePath(path), Double.parseDouble(value))
-                            .jsonString();
-                } else {
-                    return JsonPath.parse(jsonString)
-                            .set(normalizePath(path), Long.parseLong(value))
-                            .jsonString();
-                }
-            }
+        JsonMatcher matcher = JsonMatcher.of(unexpectedValues, ValueComparator.TYPED);
+        boolean absent = consumerService.verifyNoMessage(topic, matcher, startPosition(), timeoutSeconds);
 
-            // Handle boolean values
-            if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-                return JsonPath.parse(jsonString)
-                        .set(normalizePath(path), Boolean.parseBoolean(value))
-                        .jsonString();
-            }
+        Assert.assertTrue(absent, "Unexpected message with values " + unexpectedValues + " found in topic " + topic);
+    }
 
-            // Handle special string values that might indicate null
-            if (value.equalsIgnoreCase("<null>") || value.equalsIgnoreCase("${null}")) {
-                return JsonPath.parse(jsonString)
-                        .set(normalizePath(path), null)
-                        .jsonString();
+    /**
+     * One row per expected message: a {@code topic} column, an optional {@code count} column
+     * and one column per JSON path. Empty cells are not checked.
+     */
+    @Then("I should find all of the following messages")
+    public void findAllMatchingMessages(io.cucumber.datatable.DataTable dataTable) {
+        List<Expectation> expectations = new ArrayList<>();
+        for (Map<String, String> row : dataTable.asMaps(String.class, String.class)) {
+            Map<String, String> expectedValues = new LinkedHashMap<>(row);
+            String topic = expectedValues.remove("topic");
+            String count = expectedValues.remove("count");
+            expectedValues.values().removeIf(Objects::isNull);
+            JsonMatcher matcher = JsonMatcher.of(expectedValues, ValueComparator.TYPED);
+            expectations.add(Expectation.of(topic, matcher, count == null ? 1 : Integer.parseInt(count)));
+        }
+        log.info("Waiting for {} expected messages across topics {}", expectations.size(),
+                expectations.stream().map(Expectation::topic).distinct().toList());
+
+        List<ExpectationResult> results = consumerService.verifyAll(expectations, startPosition(), timeoutSeconds);
+        List<String> unsatisfied = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isSatisfied()) {
+                unsatisfied.add("row " + (i + 1) + " on topic " + results.get(i).expectation().topic());
             }
-
-            // Default: treat as string
-            return JsonPath.parse(jsonString)
-                    .set(normalizePath(path), value)
-                    .jsonString();
-
-        } catch (PathNotFoundException e) {
-            log.error("Path not found: {}", path);
-            throw new RuntimeException("Invalid JSON path: " + path, e);
-        } catch (Exception e) {
-            log.error("Error updating JSON value for path: {}, value: {}", path, value);
-            throw new RuntimeException("Error updating JSON value: " + e.getMessage(), e);
         }
-    }
+        if (!unsatisfied.isEmpty()) {
+            log.error("Failed to find messages for: {}", unsatisfied);
+        }
 
-    private boolean matchesExpectedValues(String message, Map<String, String> expectedValues) {
-        try {
-            log.debug("Checking message: {} against expected values: {}", message, expectedValues);
+        Assert.assertTrue(unsatisfied.isEmpty(), "Messages with expected values not found within timeout: " + unsatisfied);
+    }
 
-            for (Map.Entry<String, String> expectedValue : expectedValues.entrySet()) {
-                String path = expectedValue.getKey();
-                String expectedStrValue = expectedValue.getValue();
+    @Then("I should find exactly {int} matching messages in {string} topic")
+    public void findExactlyMatchingMessages(int count, String topic, io.cucumber.datatable.DataTable dataTable) {
+        verifyAggregate(topic, dataTable, CountAggregate.exactly(count));
+    }
 
-                Object actualValue = JsonPath.read(message, normalizePath(path));
-                if (actualValue == null) {
-                    log.debug("Path {} not found in message", path);
-                    return false;
-                }
+    @Then("I should find no duplicate {string} values in matching messages in {string} topic")
+    public void findNoDuplicateValues(String path, String topic, io.cucumber.datatable.DataTable dataTable) {
+        verifyAggregate(topic, dataTable, DistinctKeyAggregate.of(path));
+    }
 
-                // Handle different data types in comparison
-                if (!compareValues(actualValue, expectedStrValue)) {
-                    log.debug("Value mismatch at path {}: expected {} but was {}",
-                            path, expectedStrValue, actualValue);
-                    return false;
-                }
-            }
-            return true;
-        } catch (Exception e) {
-            log.error("Error matching values: {}", e.getMessage());
-            return false;
-        }
+    @Then("the sum of {string} over matching messages in {string} topic should be {bigdecimal}")
+    public void sumOverMatchingMessages(String path, String topic, BigDecimal expected,
+                                        io.cucumber.datatable.DataTable dataTable) {
+        verifyAggregate(topic, dataTable, SumAggregate.of(path, expected));
     }
 
-    private boolean compareValues(Object actualValue, String expectedStrValue) {
-        // Handle numbers
-        if (expectedStrValue.matches("-?\\d+(\\.\\d+)?")) {
-            if (expectedStrValue.contains(".")) {
-                return Double.parseDouble(actualValue.toString()) == Double.parseDouble(expectedStrValue);
-            } else {
-                return Long.parseLong(actualValue.toString()) == Long.parseLong(expectedStrValue);
-            }
-        }
-        // Handle booleans
-        else if (expectedStrValue.equalsIgnoreCase("true") || expectedStrValue.equalsIgnoreCase("false")) {
-            return Boolean.parseBoolean(actualValue.toString()) == Boolean.parseBoolean(expectedStrValue);
-        }
-        // Handle strings
-        else {
-            return actualValue.toString().equals(expectedStrValue);
-        }
+    /**
+     * The table filters the records the aggregate sees, over a window of {@code test.kafka.window-seconds}.
+     */
+    private void verifyAggregate(String topic, io.cucumber.datatable.DataTable dataTable, RecordAggregate aggregate) {
+        Map<String, String> filter = dataTable.asMap(String.class, String.class);
+        JsonMatcher matcher = JsonMatcher.of(filter, ValueComparator.TYPED);
+        AggregateResult result = consumerService.verifyAggregate(topic, matcher, aggregate, startPosition(), windowSeconds);
+        Assert.assertTrue(result.passed(), "Aggregate over topic " + topic + " failed: " + result.description());
     }
 
-    private String normalizePath(String path) {
-        return path.startsWith("$") ? path : "$." + path;
+    private StartPosition startPosition() {
+        return firstSendTimestamp != null
+                ? StartPosition.fromTimestamp(firstSendTimestamp - clockSkewMs)
+                : StartPosition.buffered();
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.spring.kafkaproj.tailer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatcherIndexTest {
+
+    @Test
+    void recordIsOfferedToItsKeyAndTheUnkeyed() {
+        MatcherIndex<String> index = new MatcherIndex<>();
+        index.add("one", "ORD-1");
+        index.add("two", "ORD-2");
+        index.add("any", null);
+
+        assertThat(candidates(index, "ORD-1")).containsExactly("one", "any");
+        assertThat(candidates(index, "ORD-3")).containsExactly("any");
+        assertThat(candidates(index, null)).containsExactly("any");
+    }
+
+    @Test
+    void candidatesAcceptedByTheFilterAreRemoved() {
+        MatcherIndex<String> index = new MatcherIndex<>();
+        index.add("one", "ORD-1");
+        index.add("other", "ORD-1");
+        index.add("any", null);
+
+        index.removeCandidatesIf("ORD-1", matcher -> !matcher.equals("other"));
+
+        assertThat(all(index)).containsExactly("other");
+    }
+
+    @Test
+    void removeUnregistersUnderTheGivenKey() {
+        MatcherIndex<String> index = new MatcherIndex<>();
+        index.add("one", "ORD-1");
+        index.add("any", null);
+
+        index.remove("one", "ORD-2");
+        assertThat(all(index)).containsExactly("one", "any");
+
+        index.remove("one", "ORD-1");
+        index.remove("any", null);
+        assertThat(all(index)).isEmpty();
+    }
+
+    private static List<String> candidates(MatcherIndex<String> index, String key) {
+        List<String> visited = new ArrayList<>();
+        index.removeCandidatesIf(key, matcher -> !visited.add(matcher));
+        return visited;
+    }
+
+    private static List<String> all(MatcherIndex<String> index) {
+        List<String> matchers = new ArrayList<>();
+        index.forEach(matchers::add);
+        return matchers;
+    }
+}
@@ -0,0 +1,127 @@
+package com.spring.kafkaproj.tailer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordCacheTest {
+
+    private static final String TOPIC = "orders";
+
+    @Test
+    void visitsRecordsInArrivalOrderUntilOneMatches() {
+        RecordCache cache = new RecordCache(TOPIC, 10, 1 << 20, 60_000);
+        cache.add(record(0, 0, "a"), null);
+        cache.add(record(1, 0, "b"), null);
+        cache.add(record(0, 1, "c"), null);
+        List<String> visited = new ArrayList<>();
+
+        boolean found = cache.anyMatch(null, record -> visited.add(value(record)) && value(record).equals("b"));
+
+        assertThat(found).isTrue();
+        assertThat(visited).containsExactly("a", "b");
+    }
+
+    @Test
+    void restoresTheRecordTheyWereGiven() {
+        RecordCache cache = new RecordCache(TOPIC, 10, 1 << 20, 60_000);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("trace", "t-1".getBytes(StandardCharsets.UTF_8));
+        cache.add(new ConsumerRecord<>(TOPIC, 2, 7, 1234L, TimestampType.CREATE_TIME, 3, 1,
+                "key".getBytes(StandardCharsets.UTF_8), "v".getBytes(StandardCharsets.UTF_8), headers, Optional.empty()), null);
+        List<ConsumerRecord<byte[], byte[]>> visited = new ArrayList<>();
+
+        cache.anyMatch(null, visited::add);
+
+        ConsumerRecord<byte[], byte[]> restored = visited.get(0);
+        assertThat(restored.topic()).isEqualTo(TOPIC);
+        assertThat(restored.partition()).isEqualTo(2);
+        assertThat(restored.offset()).isEqualTo(7);
+        assertThat(restored.timestamp()).isEqualTo(1234L);
+        assertThat(new String(restored.key(), StandardCharsets.UTF_8)).isEqualTo("key");
+        assertThat(value(restored)).isEqualTo("v");
+        assertThat(restored.headers().lastHeader("trace").value()).isEqualTo("t-1".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void keyedLookupOnlyVisitsRecordsWithTheKey() {
+        RecordCache cache = new RecordCache(TOPIC, 10, 1 << 20, 60_000);
+        cache.add(record(0, 0, "a"), "ORD-1");
+        cache.add(record(0, 1, "b"), "ORD-2");
+        cache.add(record(0, 2, "c"), "ORD-1");
+        cache.add(record(0, 3, "d"), null);
+
+        assertThat(visit(cache, "ORD-1")).containsExactly("a", "c");
+        assertThat(visit(cache, "ORD-3")).isEmpty();
+        assertThat(visit(cache, null)).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    void evictsOldestBeyondMaxRecords() {
+        RecordCache cache = new RecordCache(TOPIC, 2, 1 << 20, 60_000);
+        cache.add(record(0, 0, "a"), "ORD-1");
+        cache.add(record(0, 1, "b"), "ORD-2");
+        cache.add(record(0, 2, "c"), "ORD-1");
+
+        assertThat(visit(cache, null)).containsExactly("b", "c");
+        assertThat(visit(cache, "ORD-1")).containsExactly("c");
+        assertThat(cache.cachedFrom(0)).isEqualTo(1);
+    }
+
+    @Test
+    void evictsOldestBeyondMaxBytesButKeepsTheNewest() {
+        RecordCache cache = new RecordCache(TOPIC, 100, 1, 60_000);
+        cache.add(record(0, 0, "a"), null);
+        cache.add(record(0, 1, "b"), "ORD-1");
+
+        assertThat(visit(cache, null)).containsExactly("b");
+        assertThat(visit(cache, "ORD-1")).containsExactly("b");
+    }
+
+    @Test
+    void dropsExpiredRecordsBeforeALookup() throws InterruptedException {
+        RecordCache cache = new RecordCache(TOPIC, 100, 1 << 20, 1);
+        cache.add(record(0, 4, "a"), "ORD-1");
+        Thread.sleep(10);
+
+        assertThat(visit(cache, "ORD-1")).isEmpty();
+        assertThat(visit(cache, null)).isEmpty();
+        assertThat(cache.cachedFrom(0)).isEqualTo(5);
+    }
+
+    @Test
+    void tracksWhereEachPartitionIsCachedFrom() {
+        RecordCache cache = new RecordCache(TOPIC, 1, 1 << 20, 60_000);
+        assertThat(cache.cachedFrom(0)).isNull();
+
+        cache.restartAt(0, 10);
+        cache.restartAt(1, 3);
+        cache.add(record(0, 10, "a"), null);
+        cache.add(record(1, 3, "b"), null);
+
+        assertThat(cache.cachedFrom(0)).isEqualTo(11);
+        assertThat(cache.cachedFrom(1)).isEqualTo(3);
+    }
+
+    private static List<String> visit(RecordCache cache, String key) {
+        List<String> visited = new ArrayList<>();
+        cache.anyMatch(key, record -> !visited.add(value(record)));
+        return visited;
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(int partition, long offset, String value) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String value(ConsumerRecord<byte[], byte[]> record) {
+        return new String(record.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package com.spring.kafkaproj.tailer;
+
+import com.spring.kafkaproj.matching.JsonKeyExtractor;
+import com.spring.kafkaproj.matching.JsonMatcher;
+import com.spring.kafkaproj.matching.ValueComparator;
+import com.spring.kafkaproj.metrics.HarnessMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dispatch of records to pending matches on a tailer indexed by {@code $.orderId}. The tailer is
+ * never started, records are handed to it directly.
+ */
+class TopicTailerTest {
+
+    private static final String TOPIC = "orders";
+
+    private TopicTailer tailer;
+    private long offset;
+
+    @BeforeEach
+    void createTailer() {
+        tailer = new TopicTailer(TOPIC, null, List.of(new TopicPartition(TOPIC, 0)),
+                new DefaultKafkaConsumerFactory<>(Map.of()), new SimpleAsyncTaskExecutor(),
+                new RecordCache(TOPIC, 100, 1 << 20, 60_000), null, TopicTailer.InitialPosition.LATEST,
+                JsonKeyExtractor.compile("$.orderId"), new HarnessMetrics(new SimpleMeterRegistry()).forTopic(TOPIC));
+    }
+
+    @Test
+    void regexOnKeyPathStillMatches() {
+        JsonMatcher matcher = JsonMatcher.of(Map.of("$.orderId", "regex:ORD-.*"), ValueComparator.TYPED);
+
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match = tailer.await(matches(matcher),
+                StartOffsets.ANY, 1, matcher.indexKey(tailer.getKeyPath()));
+        tailer.onRecord(record("{\"orderId\":\"ORD-42\"}"));
+
+        assertThat(match).isCompleted();
+    }
+
+    @Test
+    void regexOnKeyPathMatchesCachedRecord() {
+        tailer.onRecord(record("{\"orderId\":\"ORD-42\"}"));
+        JsonMatcher matcher = JsonMatcher.of(Map.of("$.orderId", "regex:ORD-.*"), ValueComparator.TYPED);
+
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match = tailer.await(matches(matcher),
+                StartOffsets.ANY, 1, matcher.indexKey(tailer.getKeyPath()));
+
+        assertThat(match).isCompleted();
+    }
+
+    @Test
+    void keyedMatchIsOnlyOfferedRecordsWithItsKey() {
+        JsonMatcher matcher = JsonMatcher.of(Map.of("$.orderId", "ORD-1"), ValueComparator.TYPED);
+        AtomicInteger offered = new AtomicInteger();
+        Predicate<ConsumerRecord<byte[], byte[]>> predicate = matches(matcher);
+
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match = tailer.await(
+                record -> offered.incrementAndGet() > 0 && predicate.test(record),
+                StartOffsets.ANY, 1, matcher.indexKey(tailer.getKeyPath()));
+        tailer.onRecord(record("{\"orderId\":\"ORD-2\"}"));
+        tailer.onRecord(record("{\"orderId\":\"ORD-1\"}"));
+
+        assertThat(match).isCompleted();
+        assertThat(offered).hasValue(1);
+    }
+
+    @Test
+    void numericKeyMatchesEveryForm() {
+        JsonMatcher matcher = JsonMatcher.of(Map.of("$.orderId", "7"), ValueComparator.TYPED);
+
+        CompletableFuture<List<ConsumerRecord<byte[], byte[]>>> match = tailer.await(matches(matcher),
+                StartOffsets.ANY, 3, matcher.indexKey(tailer.getKeyPath()));
+        tailer.onRecord(record("{\"orderId\":7}"));
+        tailer.onRecord(record("{\"orderId\":7.0}"));
+        tailer.onRecord(record("{\"orderId\":\"007\"}"));
+
+        assertThat(match).isCompleted();
+    }
+
+    private static Predicate<ConsumerRecord<byte[], byte[]>> matches(JsonMatcher matcher) {
+        return record -> matcher.matches(record.value());
+    }
+
+    private ConsumerRecord<byte[], byte[]> record(String value) {
+        return new ConsumerRecord<>(TOPIC, 0, offset++, null, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
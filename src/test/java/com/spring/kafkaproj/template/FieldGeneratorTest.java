@@ -0,0 +1,93 @@
+package com.spring.kafkaproj.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldGeneratorTest {
+
+    @Test
+    void plainValuesAreTyped() {
+        assertThat(FieldGenerator.compile("42").next(0)).isEqualTo(42L);
+        assertThat(FieldGenerator.compile("4.5").next(0)).isEqualTo(4.5);
+        assertThat(FieldGenerator.compile("true").next(0)).isEqualTo(true);
+        assertThat(FieldGenerator.compile("ORD").next(0)).isEqualTo("ORD");
+        assertThat(FieldGenerator.compile("null").next(0)).isNull();
+    }
+
+    @Test
+    void sequenceStartsAtZeroOrTheGivenStart() {
+        assertThat(FieldGenerator.compile("${seq}").next(7)).isEqualTo(7L);
+        assertThat(FieldGenerator.compile("${seq:1000}").next(7)).isEqualTo(1007L);
+    }
+
+    @Test
+    void partsAreJoinedIntoAString() {
+        FieldGenerator generator = FieldGenerator.compile("ORD-${seq:100}-${seq}x");
+
+        assertThat(generator.next(3)).isEqualTo("ORD-103-3x");
+    }
+
+    @Test
+    void randomIntegersStayInTheInclusiveRange() {
+        FieldGenerator generator = FieldGenerator.compile("${random:1..3}");
+        boolean[] seen = new boolean[4];
+        for (int i = 0; i < 1_000; i++) {
+            Object value = generator.next(i);
+            assertThat(value).isInstanceOf(Long.class);
+            long number = (Long) value;
+            assertThat(number).isBetween(1L, 3L);
+            seen[(int) number] = true;
+        }
+        assertThat(seen).containsExactly(false, true, true, true);
+    }
+
+    @Test
+    void randomDecimalsKeepTheScaleOfTheBounds() {
+        FieldGenerator generator = FieldGenerator.compile("${random:0.01..99.99}");
+        for (int i = 0; i < 1_000; i++) {
+            Object value = generator.next(i);
+            assertThat(value).isInstanceOf(Double.class);
+            double number = (Double) value;
+            assertThat(number).isBetween(0.01, 99.99);
+            assertThat(BigDecimal.valueOf(number).scale()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void uuidsAreRandomVersionFour() {
+        FieldGenerator generator = FieldGenerator.compile("${uuid}");
+        UUID first = UUID.fromString((String) generator.next(0));
+        UUID second = UUID.fromString((String) generator.next(1));
+
+        assertThat(first.version()).isEqualTo(4);
+        assertThat(first.variant()).isEqualTo(2);
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void timestampsInEachFormat() {
+        long before = System.currentTimeMillis();
+
+        assertThat((Long) FieldGenerator.compile("${timestamp}").next(0)).isBetween(before, System.currentTimeMillis());
+        assertThat((Long) FieldGenerator.compile("${timestamp:millis}").next(0)).isBetween(before, System.currentTimeMillis());
+        assertThat((Long) FieldGenerator.compile("${timestamp:seconds}").next(0))
+                .isBetween(before / 1000, System.currentTimeMillis() / 1000);
+        assertThat(Instant.parse((String) FieldGenerator.compile("${timestamp:iso}").next(0)).toEpochMilli())
+                .isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    void invalidSpecsAreRejected() {
+        assertThatThrownBy(() -> FieldGenerator.compile("${seq")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldGenerator.compile("${nope}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldGenerator.compile("${random}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldGenerator.compile("${random:5..1}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FieldGenerator.compile("${timestamp:days}")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring.kafkaproj.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureTopicScannerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void topicsAreSplitByHowTheFeaturesUseThem() throws IOException {
+        Files.writeString(dir.resolve("orders.feature"), """
+                Feature: Orders
+
+                  Scenario Outline: Order is shipped
+                    Given I send "order" to "orders" kafka topic
+                    And I send 10 variants of "order" to "audit" kafka topic
+                    Then I should find matching message in "shipments" topic
+                    And I should not find matching message in "<topic>" topic
+                    And I should find all of the following messages
+                      | topic    | $.id  |
+                      | invoices | ORD-1 |
+                      | <topic>  | ORD-2 |
+
+                    Examples:
+                      | topic   |
+                      | refunds |
+                """);
+        Files.writeString(dir.resolve("load.feature"), """
+                Feature: Load
+                  Scenario: Load
+                    Given I produce 100 messages per second from "order" to "orders" kafka topic for 5 seconds
+                    Then I should find exactly 500 matching messages in "orders" topic
+                """);
+
+        FeatureTopicScanner.FeatureTopics topics = FeatureTopicScanner.scan(dir);
+
+        // Examples cells may stand in for a verified topic, so table columns count as verified
+        assertThat(topics.verified()).containsExactly("invoices", "orders", "refunds", "shipments");
+        assertThat(topics.produced()).containsExactly("audit", "orders");
+        assertThat(topics.all()).containsExactly("audit", "invoices", "orders", "refunds", "shipments");
+    }
+
+    @Test
+    void missingDirectoryHasNoTopics() {
+        FeatureTopicScanner.FeatureTopics topics = FeatureTopicScanner.scan(dir.resolve("missing"));
+
+        assertThat(topics.all()).isEmpty();
+    }
+}
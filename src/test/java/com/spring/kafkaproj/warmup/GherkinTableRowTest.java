@@ -0,0 +1,35 @@
+package com.spring.kafkaproj.warmup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GherkinTableRowTest {
+
+    @Test
+    void cellsAreTrimmed() {
+        assertThat(GherkinTableRow.cells("| id |  status | topic|")).containsExactly("id", "status", "topic");
+    }
+
+    @Test
+    void emptyCellsAreKept() {
+        assertThat(GherkinTableRow.cells("| ORD-1 |  | x |")).containsExactly("ORD-1", "", "x");
+        assertThat(GherkinTableRow.cells("||")).containsExactly("");
+    }
+
+    @Test
+    void escapesAreUnescaped() {
+        assertThat(GherkinTableRow.cells("| a\\|b | c\\\\ | d\\ne | \\x |")).containsExactly("a|b", "c\\", "d\ne", "\\x");
+    }
+
+    @Test
+    void rowWithoutClosingPipeDropsTheTrailingText() {
+        assertThat(GherkinTableRow.cells("| a | b")).containsExactly("a");
+    }
+
+    @Test
+    void onlyLinesStartingWithAPipeAreRows() {
+        assertThat(GherkinTableRow.isRow("| a |")).isTrue();
+        assertThat(GherkinTableRow.isRow("Given a \"orders\" topic")).isFalse();
+    }
+}